@@ -0,0 +1,25 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks whose names match the optional first argument (all of them by default)
+ * with the GC profiler attached, so allocation rate per operation is reported next to throughput
+ * and average time.
+ */
+public class BenchmarkRunner {
+    private static final String ALL_BENCHMARKS = ".*Benchmark.*";
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : ALL_BENCHMARKS)
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,71 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.benchmark;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.algorithm.AlgorithmPerformer;
+import bg.sofia.uni.fmi.mjt.spellchecker.algorithm.BkTreeEngine;
+import bg.sofia.uni.fmi.mjt.spellchecker.algorithm.SuggestionEngine;
+import bg.sofia.uni.fmi.mjt.spellchecker.algorithm.SymmetricDeleteEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ClosestWordsBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Engine {
+        @Param({"cosine", "symmetric-delete", "bk-tree"})
+        public String engineType;
+
+        private SuggestionEngine suggestionEngine;
+
+        @Setup(Level.Trial)
+        public void prepare(DictionaryState state) {
+            this.suggestionEngine = switch (this.engineType) {
+                case "symmetric-delete" -> new SymmetricDeleteEngine(state.dictionaryWords);
+                case "bk-tree" -> new BkTreeEngine(state.dictionaryWords);
+                default -> new AlgorithmPerformer(state.dictionary);
+            };
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Queries {
+        @Param({"1", "5"})
+        public int suggestionsCount;
+
+        private List<String> misspellings;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void prepare(DictionaryState state) {
+            this.misspellings = state.misspellings;
+        }
+
+        private String nextWord() {
+            String word = this.misspellings.get(this.next);
+            this.next = (this.next + 1) % this.misspellings.size();
+            return word;
+        }
+    }
+
+    @Benchmark
+    public List<String> getClosestWords(Engine engine, Queries queries) {
+        return engine.suggestionEngine.getClosestWords(queries.nextWord(), queries.suggestionsCount);
+    }
+}
@@ -0,0 +1,26 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.benchmark;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.NaiveSpellChecker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class ConstructionBenchmark {
+
+    @Benchmark
+    public NaiveSpellChecker construct(DictionaryState state) {
+        return new NaiveSpellChecker(new StringReader(state.dictionaryText), new StringReader(state.stopWordsText));
+    }
+}
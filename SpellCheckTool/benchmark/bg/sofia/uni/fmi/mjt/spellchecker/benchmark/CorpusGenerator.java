@@ -0,0 +1,113 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.benchmark;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic dictionaries and texts for the benchmarks.
+ * Words are drawn from a letter distribution close to English so that the bigram index sees realistic
+ * posting list lengths; typos are produced by replacing, dropping or swapping a single letter.
+ */
+public class CorpusGenerator {
+    private static final String LETTERS = "eeeeeeeeeeeettttttttaaaaaaaaoooooooiiiiiii"
+            + "nnnnnnnssssssrrrrrrhhhhhlllldddcccuuummfwgypbvk";
+    private static final String PUNCTUATION = ",.;:!?";
+    private static final List<String> STOP_WORDS =
+            List.of("a", "an", "the", "i", "am", "of", "up", "out", "do", "by", "as", "to", "in", "is", "it");
+    private static final int MIN_WORD_LENGTH = 2;
+    private static final int MAX_WORD_LENGTH = 12;
+    private static final int WORDS_PER_LINE = 12;
+    private static final int TYPO_KINDS = 3;
+    private final Random random;
+
+    public CorpusGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public List<String> generateDictionary(int size) {
+        Validator.validatePositive(size);
+
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < size) {
+            words.add(this.generateWord());
+        }
+
+        return new ArrayList<>(words);
+    }
+
+    public List<String> getStopWords() {
+        return STOP_WORDS;
+    }
+
+    public String generateText(List<String> dictionary, int words, double typoRate) {
+        Validator.validateNotNull(dictionary, "dictionary");
+        Validator.validatePositive(words);
+
+        StringBuilder text = new StringBuilder();
+
+        for (int index = 1; index <= words; index++) {
+            String word = this.random.nextInt(WORDS_PER_LINE) == 0
+                    ? STOP_WORDS.get(this.random.nextInt(STOP_WORDS.size()))
+                    : dictionary.get(this.random.nextInt(dictionary.size()));
+
+            text.append(this.random.nextDouble() < typoRate ? this.misspell(word) : word);
+
+            if (this.random.nextInt(WORDS_PER_LINE) == 0) {
+                text.append(PUNCTUATION.charAt(this.random.nextInt(PUNCTUATION.length())));
+            }
+            text.append(index % WORDS_PER_LINE == 0 ? System.lineSeparator() : " ");
+        }
+
+        return text.toString();
+    }
+
+    public List<String> generateMisspellings(List<String> dictionary, int count) {
+        Validator.validateNotNull(dictionary, "dictionary");
+
+        List<String> misspellings = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            misspellings.add(this.misspell(dictionary.get(this.random.nextInt(dictionary.size()))));
+        }
+
+        return misspellings;
+    }
+
+    private String generateWord() {
+        int length = MIN_WORD_LENGTH + this.random.nextInt(MAX_WORD_LENGTH - MIN_WORD_LENGTH + 1);
+        StringBuilder word = new StringBuilder(length);
+
+        for (int index = 0; index < length; index++) {
+            word.append(LETTERS.charAt(this.random.nextInt(LETTERS.length())));
+        }
+
+        return word.toString();
+    }
+
+    private String misspell(String word) {
+        StringBuilder typo = new StringBuilder(word);
+        int position = this.random.nextInt(word.length());
+
+        switch (this.random.nextInt(TYPO_KINDS)) {
+            case 0 -> typo.setCharAt(position, LETTERS.charAt(this.random.nextInt(LETTERS.length())));
+            case 1 -> {
+                if (word.length() > MIN_WORD_LENGTH) {
+                    typo.deleteCharAt(position);
+                } else {
+                    typo.append(LETTERS.charAt(this.random.nextInt(LETTERS.length())));
+                }
+            }
+            default -> {
+                int next = Math.min(position + 1, word.length() - 1);
+                typo.setCharAt(position, word.charAt(next));
+                typo.setCharAt(next, word.charAt(position));
+            }
+        }
+
+        return typo.toString();
+    }
+}
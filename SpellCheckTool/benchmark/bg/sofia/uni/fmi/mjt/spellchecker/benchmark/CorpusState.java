@@ -0,0 +1,27 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A text of dictionary and stop words with {@code typoRate} of the words misspelled, for the benchmarks that
+ * analyze text.
+ */
+@State(Scope.Benchmark)
+public class CorpusState {
+    private static final int CORPUS_WORDS = 20_000;
+
+    @Param({"0.01", "0.05", "0.2"})
+    public double typoRate;
+
+    public String corpus;
+
+    @Setup(Level.Trial)
+    public void generate(DictionaryState dictionary) {
+        this.corpus = new CorpusGenerator(DictionaryState.SEED)
+                .generateText(dictionary.dictionaryWords, CORPUS_WORDS, this.typoRate);
+    }
+}
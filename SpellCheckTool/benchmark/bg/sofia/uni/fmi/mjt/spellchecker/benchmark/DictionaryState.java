@@ -0,0 +1,42 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.benchmark;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Dictionary;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * The generated dictionary and stop words, as lists and as the texts a checker reads, plus misspellings of
+ * dictionary words to query with. Whatever is built from them lives in the states of the benchmarks that need it.
+ */
+@State(Scope.Benchmark)
+public class DictionaryState {
+    static final long SEED = 20201224L;
+    private static final int MISSPELLINGS = 1024;
+
+    @Param({"10000", "100000", "1000000"})
+    public int dictionarySize;
+
+    public List<String> dictionaryWords;
+    public List<String> stopWords;
+    public String dictionaryText;
+    public String stopWordsText;
+    public List<String> misspellings;
+    public Dictionary dictionary;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        CorpusGenerator generator = new CorpusGenerator(SEED);
+
+        this.dictionaryWords = generator.generateDictionary(this.dictionarySize);
+        this.stopWords = generator.getStopWords();
+        this.dictionaryText = String.join(System.lineSeparator(), this.dictionaryWords);
+        this.stopWordsText = String.join(System.lineSeparator(), this.stopWords);
+        this.misspellings = generator.generateMisspellings(this.dictionaryWords, MISSPELLINGS);
+        this.dictionary = new Dictionary(this.dictionaryWords);
+    }
+}
@@ -0,0 +1,66 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.benchmark;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.Metadata;
+import bg.sofia.uni.fmi.mjt.spellchecker.NaiveSpellChecker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class EndToEndBenchmark {
+    private static final int SUGGESTIONS_COUNT = 3;
+
+    @State(Scope.Benchmark)
+    public static class Checker {
+        // without a cache every misspelling is looked up, with one only the first iteration does any lookups
+        @Param({"0", "10000"})
+        public int suggestionCacheCapacity;
+
+        private NaiveSpellChecker spellChecker;
+
+        @Setup(Level.Trial)
+        public void build(DictionaryState state) {
+            this.spellChecker = new NaiveSpellChecker(new StringReader(state.dictionaryText),
+                    new StringReader(state.stopWordsText), ForkJoinPool.commonPool(), this.suggestionCacheCapacity);
+        }
+    }
+
+    @Benchmark
+    public void analyze(Checker checker, CorpusState state) {
+        checker.spellChecker.analyze(new StringReader(state.corpus), Writer.nullWriter(), SUGGESTIONS_COUNT);
+    }
+
+    @Benchmark
+    public void analyzeInChunks(Checker checker, CorpusState state) {
+        checker.spellChecker.analyze(new StringReader(state.corpus), Writer.nullWriter(), SUGGESTIONS_COUNT,
+                ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public Metadata metadata(Checker checker, CorpusState state) {
+        return checker.spellChecker.metadata(new StringReader(state.corpus));
+    }
+
+    @Benchmark
+    public Metadata metadataInChunks(Checker checker, CorpusState state) {
+        return checker.spellChecker.metadata(new StringReader(state.corpus), ForkJoinPool.commonPool());
+    }
+}
@@ -0,0 +1,43 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.benchmark;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Lexicon;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.StopWords;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the lexicon from the dictionary and stop words, and reports how many bytes the built lexicon keeps per
+ * dictionary word once the trial is over.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class LexiconBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Footprint {
+        @TearDown(Level.Trial)
+        public void report(DictionaryState state, LexiconState lexicon) {
+            System.out.printf("lexicon footprint: %.1f bytes per word%n",
+                    (double) lexicon.lexicon.getFootprintBytes() / state.dictionaryWords.size());
+        }
+    }
+
+    @Benchmark
+    public Lexicon build(DictionaryState state, Footprint footprint) {
+        return new Lexicon(state.dictionary, new StopWords(state.stopWords));
+    }
+}
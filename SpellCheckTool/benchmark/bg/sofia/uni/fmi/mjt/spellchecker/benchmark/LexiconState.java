@@ -0,0 +1,26 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.benchmark;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Lexicon;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.StopWords;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.SymbolTable;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The lexicon and symbol table of the generated dictionary, for the benchmarks that classify words on their own.
+ */
+@State(Scope.Benchmark)
+public class LexiconState {
+    public Lexicon lexicon;
+    public SymbolTable metatextSymbols;
+
+    @Setup(Level.Trial)
+    public void build(DictionaryState state) {
+        StopWords stopWords = new StopWords(state.stopWords);
+
+        this.lexicon = new Lexicon(state.dictionary, stopWords);
+        this.metatextSymbols = new SymbolTable(state.dictionary, stopWords);
+    }
+}
@@ -0,0 +1,53 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.benchmark;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.Metadata;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.LinesAnalyzer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class LinesAnalyzerBenchmark {
+
+    @State(Scope.Thread)
+    public static class Lines {
+        private char[][] lines;
+
+        @Setup(Level.Trial)
+        public void prepare(CorpusState state) {
+            String[] corpusLines = state.corpus.split(System.lineSeparator());
+            this.lines = new char[corpusLines.length][];
+
+            for (int index = 0; index < corpusLines.length; index++) {
+                this.lines[index] = corpusLines[index].toCharArray();
+            }
+        }
+    }
+
+    @Benchmark
+    public Metadata analyze(LexiconState state, Lines lines) throws IOException {
+        LinesAnalyzer linesAnalyzer = new LinesAnalyzer(state.lexicon, state.metatextSymbols);
+
+        for (int index = 0; index < lines.lines.length; index++) {
+            linesAnalyzer.analyze(index + 1, lines.lines[index], 0, lines.lines[index].length);
+        }
+
+        linesAnalyzer.extractProblemLines().close();
+        return linesAnalyzer.extractCollectedMetadata();
+    }
+}
@@ -0,0 +1,97 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.benchmark;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.formatter.BinaryReportWriter;
+import bg.sofia.uni.fmi.mjt.spellchecker.formatter.JsonLinesReportWriter;
+import bg.sofia.uni.fmi.mjt.spellchecker.formatter.LineFormatter;
+import bg.sofia.uni.fmi.mjt.spellchecker.formatter.ReportWriter;
+import bg.sofia.uni.fmi.mjt.spellchecker.formatter.TextReportWriter;
+import bg.sofia.uni.fmi.mjt.spellchecker.output.FlushPolicy;
+import bg.sofia.uni.fmi.mjt.spellchecker.output.FlushingWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the findings of a report in every format into a sink that drops them, next to formatting them as strings
+ * with {@link LineFormatter}, so the GC profiler shows what each costs per report.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ReportWriterBenchmark {
+    private static final int FINDINGS = 10_000;
+    private static final int SUGGESTIONS = 3;
+
+    @State(Scope.Thread)
+    public static class Findings {
+        private List<String> words;
+        private List<List<String>> suggestions;
+
+        @Setup(Level.Trial)
+        public void prepare(DictionaryState state) {
+            this.words = state.misspellings;
+            this.suggestions = state.misspellings.stream()
+                    .map(word -> state.dictionaryWords.subList(0, SUGGESTIONS))
+                    .toList();
+        }
+    }
+
+    @Benchmark
+    public Writer lineFormatter(Findings findings) throws IOException {
+        LineFormatter formatter = new LineFormatter();
+        Writer output = sink();
+
+        for (int finding = 0; finding < FINDINGS; finding++) {
+            int index = finding % findings.words.size();
+            output.append(formatter.formatLineWithSuggestions(findings.words.get(index), finding + 1,
+                    findings.suggestions.get(index)));
+        }
+
+        return output;
+    }
+
+    @Benchmark
+    public ReportWriter text(Findings findings) throws IOException {
+        return write(new TextReportWriter(sink()), findings);
+    }
+
+    @Benchmark
+    public ReportWriter jsonLines(Findings findings) throws IOException {
+        return write(new JsonLinesReportWriter(sink()), findings);
+    }
+
+    @Benchmark
+    public ReportWriter binary(Findings findings) throws IOException {
+        return write(new BinaryReportWriter(OutputStream.nullOutputStream()), findings);
+    }
+
+    private static ReportWriter write(ReportWriter report, Findings findings) throws IOException {
+        for (int finding = 0; finding < FINDINGS; finding++) {
+            int index = finding % findings.words.size();
+            report.writeFinding(finding + 1, findings.words.get(index), findings.suggestions.get(index));
+        }
+        report.flush();
+
+        return report;
+    }
+
+    private static Writer sink() {
+        return new FlushingWriter(Writer.nullWriter(), FlushPolicy.atEnd());
+    }
+}
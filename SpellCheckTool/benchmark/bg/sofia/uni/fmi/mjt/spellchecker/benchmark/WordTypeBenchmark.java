@@ -0,0 +1,49 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.benchmark;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.WordsAnalyzer;
+import bg.sofia.uni.fmi.mjt.spellchecker.enums.WordType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class WordTypeBenchmark {
+
+    @State(Scope.Thread)
+    public static class Queries {
+        private String[] words;
+        private int next;
+        private WordsAnalyzer wordsAnalyzer;
+
+        @Setup(Level.Trial)
+        public void prepare(LexiconState lexicon, CorpusState state) {
+            this.wordsAnalyzer = new WordsAnalyzer(lexicon.lexicon);
+            this.words = state.corpus.split("\\s+");
+        }
+
+        private String nextWord() {
+            String word = this.words[this.next];
+            this.next = (this.next + 1) % this.words.length;
+            return word;
+        }
+    }
+
+    @Benchmark
+    public WordType getWordType(Queries queries) {
+        return queries.wordsAnalyzer.getWordType(queries.nextWord());
+    }
+}
@@ -1,10 +1,26 @@
 package bg.sofia.uni.fmi.mjt.spellchecker;
 
 import bg.sofia.uni.fmi.mjt.spellchecker.algorithm.AlgorithmPerformer;
+import bg.sofia.uni.fmi.mjt.spellchecker.algorithm.BigramIndex;
+import bg.sofia.uni.fmi.mjt.spellchecker.algorithm.SuggestionEngine;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.ChunkedTextAnalyzer;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.MetadataCounter;
 import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.TextAnalyzer;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.findings.Finding;
 import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Dictionary;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Lexicon;
 import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.StopWords;
-import bg.sofia.uni.fmi.mjt.spellchecker.formatter.LineFormatter;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.SymbolTable;
+import bg.sofia.uni.fmi.mjt.spellchecker.cache.CacheStatistics;
+import bg.sofia.uni.fmi.mjt.spellchecker.cache.SuggestionCache;
+import bg.sofia.uni.fmi.mjt.spellchecker.formatter.ReportWriter;
+import bg.sofia.uni.fmi.mjt.spellchecker.formatter.TextReportWriter;
+import bg.sofia.uni.fmi.mjt.spellchecker.metrics.PipelineListener;
+import bg.sofia.uni.fmi.mjt.spellchecker.metrics.ReportingWriter;
+import bg.sofia.uni.fmi.mjt.spellchecker.output.FlushPolicy;
+import bg.sofia.uni.fmi.mjt.spellchecker.output.FlushingWriter;
+import bg.sofia.uni.fmi.mjt.spellchecker.snapshot.DictionarySnapshot;
+import bg.sofia.uni.fmi.mjt.spellchecker.tokenizer.LineTokenizer;
 import bg.sofia.uni.fmi.mjt.spellchecker.transformer.WordTransformer;
 import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
 
@@ -12,71 +28,247 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
-import java.util.HashSet;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.Scanner;
-import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * All state built from the dictionary and stop words is immutable after construction and every call keeps
+ * its own analysis state, so a single instance can serve concurrent {@code analyze}, {@code metadata} and
+ * {@code findClosestWords} calls from many threads.
+ * {@link #addWords} and {@link #removeWords} publish a whole new dictionary state instead of changing the
+ * current one: every call reads the state once when it starts and keeps using it, so it sees the dictionary
+ * either before or after an update, never halfway, and reading never takes a lock.
+ */
 public class NaiveSpellChecker implements SpellChecker {
-    private static final String PATTERN_REGEX = ".*\\R|.+\\z";
-    private static final Pattern PATTERN = Pattern.compile(PATTERN_REGEX);
-    private static final char FIRST_ALPHABET_LETTER = 'a';
-    private static final char LAST_ALPHABET_LETTER = 'z';
-    private static final char FIRST_DIGIT = '0';
-    private static final char LAST_DIGIT = '9';
-    private final LineFormatter lineFormatter;
-    private final AlgorithmPerformer algorithmPerformer;
-    private final Set<Character> metatextSymbols;
-    private final Dictionary dictionary;
-    private final StopWords stopWords;
+    private static final int DEFAULT_SUGGESTION_CACHE_CAPACITY = 10_000;
+    private static final int SUGGESTIONS_WINDOW = 1024;
+    private static final int ECHO_BUFFER_SIZE = 1 << 16;
+    private final Function<DictionarySnapshot, SuggestionEngine> suggestionEngineFactory;
+    private final Executor suggestionsExecutor;
+    private final int suggestionCacheCapacity;
+    private final PipelineListener listener;
+    private volatile DictionaryState state;
+
+    private record DictionaryState(DictionarySnapshot snapshot, SuggestionEngine suggestionEngine,
+                                   MetadataCounter metadataCounter, SuggestionCache suggestionCache) {
+        private SymbolTable metatextSymbols() {
+            return this.snapshot.metatextSymbols();
+        }
+
+        private Lexicon lexicon() {
+            return this.snapshot.lexicon();
+        }
+    }
 
     public NaiveSpellChecker(Reader dictionaryReader, Reader stopwordsReader) {
-        this.lineFormatter = new LineFormatter();
-        this.metatextSymbols = new HashSet<>();
+        this(dictionaryReader, stopwordsReader, ForkJoinPool.commonPool());
+    }
+
+    public NaiveSpellChecker(Reader dictionaryReader, Reader stopwordsReader, Executor suggestionsExecutor) {
+        this(dictionaryReader, stopwordsReader, suggestionsExecutor, DEFAULT_SUGGESTION_CACHE_CAPACITY);
+    }
+
+    public NaiveSpellChecker(Reader dictionaryReader, Reader stopwordsReader, Executor suggestionsExecutor,
+                             int suggestionCacheCapacity) {
+        this(compileSnapshot(dictionaryReader, stopwordsReader), suggestionsExecutor, suggestionCacheCapacity);
+    }
 
-        Dictionary dictionary = new Dictionary(this.filterDictionaryWords(dictionaryReader));
-        StopWords stopWords = new StopWords(this.filterStopWords(stopwordsReader));
+    public NaiveSpellChecker(DictionarySnapshot snapshot) {
+        this(snapshot, ForkJoinPool.commonPool(), DEFAULT_SUGGESTION_CACHE_CAPACITY);
+    }
 
-        this.dictionary = dictionary;
-        this.stopWords = stopWords;
+    public NaiveSpellChecker(DictionarySnapshot snapshot, Executor suggestionsExecutor, int suggestionCacheCapacity) {
+        this(snapshot, suggestionsExecutor, suggestionCacheCapacity, PipelineListener.NONE);
+    }
 
-        for (char letter = FIRST_ALPHABET_LETTER; letter <= LAST_ALPHABET_LETTER; letter++) {
-            this.metatextSymbols.add(letter);
-            this.metatextSymbols.add(Character.toUpperCase(letter));
+    /**
+     * Creates a checker that reports lines, classified words, suggestion queries and written output to
+     * {@code listener}, for example a {@link bg.sofia.uni.fmi.mjt.spellchecker.metrics.MetricsRecorder}.
+     */
+    public NaiveSpellChecker(DictionarySnapshot snapshot, Executor suggestionsExecutor, int suggestionCacheCapacity,
+                             PipelineListener listener) {
+        this(snapshot, cosineEngineFactory(listener), suggestionsExecutor, suggestionCacheCapacity, listener);
+    }
+
+    /**
+     * Creates a checker that takes its suggestions from the engine {@code suggestionEngineFactory} creates for the
+     * dictionary instead of the bigram cosine similarity, for example
+     * {@code s -> new SymmetricDeleteEngine(s.bigramIndex().getWords())}. The factory is called again for every
+     * dictionary update.
+     */
+    public NaiveSpellChecker(DictionarySnapshot snapshot,
+                             Function<DictionarySnapshot, SuggestionEngine> suggestionEngineFactory) {
+        this(snapshot, suggestionEngineFactory, ForkJoinPool.commonPool(), DEFAULT_SUGGESTION_CACHE_CAPACITY,
+                PipelineListener.NONE);
+    }
+
+    public NaiveSpellChecker(DictionarySnapshot snapshot,
+                             Function<DictionarySnapshot, SuggestionEngine> suggestionEngineFactory,
+                             Executor suggestionsExecutor, int suggestionCacheCapacity, PipelineListener listener) {
+        Validator.validateNotNull(snapshot, "snapshot");
+        Validator.validateNotNull(suggestionEngineFactory, "suggestionEngineFactory");
+        Validator.validateNotNull(suggestionsExecutor, "suggestionsExecutor");
+        Validator.validatePositive(suggestionCacheCapacity);
+        Validator.validateNotNull(listener, "listener");
+
+        this.suggestionEngineFactory = suggestionEngineFactory;
+        this.suggestionsExecutor = suggestionsExecutor;
+        this.suggestionCacheCapacity = suggestionCacheCapacity;
+        this.listener = listener;
+        this.state = this.createState(snapshot);
+    }
+
+    public static NaiveSpellChecker fromSnapshot(Path snapshotFile) {
+        return fromSnapshot(snapshotFile, false);
+    }
+
+    /**
+     * Creates a checker from a snapshot file, keeping its lexicon and similarity index off the heap if
+     * {@code offHeap}, see {@link DictionarySnapshot#load(Path, boolean)}.
+     */
+    public static NaiveSpellChecker fromSnapshot(Path snapshotFile, boolean offHeap) {
+        Validator.validateNotNull(snapshotFile, "snapshotFile");
+
+        try {
+            return new NaiveSpellChecker(DictionarySnapshot.load(snapshotFile, offHeap));
+        } catch (IOException e) {
+            throw new RuntimeException();
         }
+    }
+
+    public static DictionarySnapshot compileSnapshot(Reader dictionaryReader, Reader stopwordsReader) {
+        Dictionary dictionary = new Dictionary(filterDictionaryWords(dictionaryReader));
+        StopWords stopWords = new StopWords(filterStopWords(stopwordsReader));
+
+        CompletableFuture<BigramIndex> bigramIndex =
+                CompletableFuture.supplyAsync(() -> new BigramIndex(dictionary.dictionaryWords()));
+        CompletableFuture<Lexicon> lexicon = CompletableFuture.supplyAsync(() -> new Lexicon(dictionary, stopWords));
+
+        return new DictionarySnapshot(new SymbolTable(dictionary, stopWords), lexicon.join(), bigramIndex.join());
+    }
+
+    public void writeSnapshot(Path target) {
+        Validator.validateNotNull(target, "target");
 
-        for (char digit = FIRST_DIGIT; digit <= LAST_DIGIT; digit++) {
-            this.metatextSymbols.add(digit);
+        try {
+            this.state.snapshot().write(target);
+        } catch (IOException e) {
+            throw new RuntimeException();
         }
+    }
+
+    /**
+     * Adds {@code words} to the dictionary, filtered the same way as the lines of a dictionary file. Calls that
+     * start afterwards know the new words and may suggest them; calls already running are not affected.
+     */
+    public synchronized void addWords(Collection<String> words) {
+        Validator.validateNotNull(words, "words");
 
-        this.updateMetatextSymbols(dictionary.dictionaryWords());
-        this.updateMetatextSymbols(stopWords.stopWords());
+        this.publish(this.state.snapshot().withWords(normalizeDictionaryWords(words)));
+    }
+
+    /**
+     * Removes {@code words} from the dictionary, filtered the same way as the lines of a dictionary file. Calls
+     * that start afterwards treat them as mistakes unless they are stop words; calls already running are not
+     * affected.
+     */
+    public synchronized void removeWords(Collection<String> words) {
+        Validator.validateNotNull(words, "words");
 
-        this.algorithmPerformer = new AlgorithmPerformer(dictionary);
+        this.publish(this.state.snapshot().withoutWords(normalizeDictionaryWords(words)));
     }
 
     @Override
     public void analyze(Reader textReader, Writer output, int suggestionsCount) {
+        this.analyzeAndCollectMetadata(textReader, output, suggestionsCount);
+    }
+
+    /**
+     * Same as {@link #analyze(Reader, Writer, int)}, also returning the metadata written to {@code output}.
+     */
+    public Metadata analyzeAndCollectMetadata(Reader textReader, Writer output, int suggestionsCount) {
+        return this.analyzeAndCollectMetadata(textReader, output, suggestionsCount, FlushPolicy.DEFAULT);
+    }
+
+    /**
+     * Same as {@link #analyzeAndCollectMetadata(Reader, Writer, int)}, flushing {@code output} as
+     * {@code flushPolicy} says and once more when done. The characters written do not depend on the policy.
+     */
+    public Metadata analyzeAndCollectMetadata(Reader textReader, Writer output, int suggestionsCount,
+                                              FlushPolicy flushPolicy) {
         Validator.validateNotNull(textReader, "textReader");
         Validator.validateNotNull(output, "output");
         Validator.validatePositive(suggestionsCount);
+        Validator.validateNotNull(flushPolicy, "flushPolicy");
 
-        TextAnalyzer analyzer = new TextAnalyzer(this.dictionary, this.stopWords, this.metatextSymbols);
+        DictionaryState current = this.state;
+        TextAnalyzer analyzer = new TextAnalyzer(current.lexicon(), current.metatextSymbols(), this.listener);
 
-        this.commitToBeAnalyzed(analyzer, textReader, output, suggestionsCount);
+        // the writer-based calls have always closed the output after writing any findings
+        return this.commitToBeAnalyzed(current, analyzer, textReader,
+                new TextReportWriter(this.prepareOutput(output, flushPolicy)), suggestionsCount, true);
+    }
+
+    /**
+     * Analyzes the text and writes the report to {@code report} in its format, returning the metadata in it.
+     * The report is flushed when done but stays open.
+     */
+    public Metadata analyze(Reader textReader, ReportWriter report, int suggestionsCount) {
+        Validator.validateNotNull(textReader, "textReader");
+        Validator.validateNotNull(report, "report");
+        Validator.validatePositive(suggestionsCount);
+
+        DictionaryState current = this.state;
+        TextAnalyzer analyzer = new TextAnalyzer(current.lexicon(), current.metatextSymbols(), this.listener);
+
+        return this.commitToBeAnalyzed(current, analyzer, textReader, report, suggestionsCount, false);
+    }
+
+    /**
+     * Same as {@link #analyze(Reader, Writer, int)}, but the text is split into line-aligned chunks that are
+     * analyzed on {@code chunkExecutor}. The output is identical to that of the sequential analysis.
+     */
+    public void analyze(Reader textReader, Writer output, int suggestionsCount, Executor chunkExecutor) {
+        Validator.validateNotNull(textReader, "textReader");
+        Validator.validateNotNull(output, "output");
+        Validator.validatePositive(suggestionsCount);
+        Validator.validateNotNull(chunkExecutor, "chunkExecutor");
+
+        DictionaryState current = this.state;
+        TextAnalyzer analyzer =
+                new ChunkedTextAnalyzer(current.lexicon(), current.metatextSymbols(), chunkExecutor, this.listener);
+
+        this.commitToBeAnalyzed(current, analyzer, textReader,
+                new TextReportWriter(this.prepareOutput(output, FlushPolicy.DEFAULT)), suggestionsCount, true);
     }
 
     @Override
     public Metadata metadata(Reader textReader) {
         Validator.validateNotNull(textReader, "textReader");
 
-        TextAnalyzer analyzer = new TextAnalyzer(dictionary, stopWords, this.metatextSymbols);
+        return this.state.metadataCounter().count(textReader);
+    }
+
+    /**
+     * Same as {@link #metadata(Reader)}, but the text is split into line-aligned chunks that are
+     * analyzed on {@code chunkExecutor}.
+     */
+    public Metadata metadata(Reader textReader, Executor chunkExecutor) {
+        Validator.validateNotNull(textReader, "textReader");
+        Validator.validateNotNull(chunkExecutor, "chunkExecutor");
+
+        DictionaryState current = this.state;
+        TextAnalyzer analyzer = new ChunkedTextAnalyzer(current.lexicon(), current.metatextSymbols(), chunkExecutor,
+                false, this.listener);
 
-        this.commitToTextAnalyzer(analyzer, textReader);
-        return analyzer.collectMetadata();
+        return this.commitToTextAnalyzer(analyzer, textReader);
     }
 
     @Override
@@ -84,101 +276,134 @@ public class NaiveSpellChecker implements SpellChecker {
         Validator.validateNotNull(word, "word");
         Validator.validatePositive(n);
 
-        this.algorithmPerformer.setSuggestionsCount(n);
-        return this.algorithmPerformer.getClosestWords(word);
+        return this.findSuggestions(this.state, word, n);
     }
 
-    private String generateNextLine(Scanner scanner) {
-        return scanner.findWithinHorizon(PATTERN, 0);
+    /**
+     * Returns the statistics of the suggestion cache of the current dictionary; every update starts a new cache.
+     */
+    public CacheStatistics getSuggestionCacheStatistics() {
+        return this.state.suggestionCache().getStatistics();
     }
 
-    private void commitToTextAnalyzer(TextAnalyzer analyzer, Reader textReader) {
-        try (var scanner = new Scanner(new BufferedReader(textReader))) {
-            String currentLine;
-            while ((currentLine = this.generateNextLine(scanner)) != null) {
-                analyzer.analyzeLine(currentLine);
-            }
+    private void publish(DictionarySnapshot snapshot) {
+        if (snapshot != this.state.snapshot()) {
+            this.state = this.createState(snapshot);
         }
     }
 
-    private void commitToBeAnalyzed(TextAnalyzer analyzer, Reader input, Writer output, int suggestionsCount) {
-        try (var scanner = new Scanner(new BufferedReader(input))) {
-            this.algorithmPerformer.setSuggestionsCount(suggestionsCount);
-            String currentLine;
+    private DictionaryState createState(DictionarySnapshot snapshot) {
+        return new DictionaryState(snapshot, this.suggestionEngineFactory.apply(snapshot),
+                new MetadataCounter(snapshot.lexicon(), snapshot.metatextSymbols(), this.listener),
+                new SuggestionCache(this.suggestionCacheCapacity));
+    }
 
-            while ((currentLine = this.generateNextLine(scanner)) != null) {
-                output.append(currentLine).flush();
-                analyzer.analyzeLine(currentLine);
-            }
+    private List<String> findSuggestions(DictionaryState current, String word, int n) {
+        List<String> suggestions = current.suggestionCache().get(word, n);
 
-            this.appendCalculatedData(output, analyzer);
-        } catch (IOException e) {
-            throw new RuntimeException();
+        if (suggestions == null) {
+            suggestions = current.suggestionEngine().getClosestWords(word, n);
+            current.suggestionCache().put(word, n, suggestions);
         }
+
+        return suggestions;
     }
 
-    private void appendCalculatedData(Writer output, TextAnalyzer analyzer) {
-        Metadata metadata = analyzer.collectMetadata();
+    private Writer prepareOutput(Writer output, FlushPolicy flushPolicy) {
+        Writer reported = this.listener == PipelineListener.NONE ? output : new ReportingWriter(output, this.listener);
 
-        this.appendMetadata(output, metadata, analyzer);
+        return new FlushingWriter(reported, flushPolicy);
     }
 
-    private void appendMetadata(Writer output, Metadata metadata, TextAnalyzer analyzer) {
-        try {
-            output.append(this.lineFormatter.getMetadataHeader()).flush();
-            output.append(this.lineFormatter.formatMetadata(metadata)).flush();
+    private Metadata commitToTextAnalyzer(TextAnalyzer analyzer, Reader textReader) {
+        try (analyzer; var tokenizer = new LineTokenizer(textReader)) {
+            while (tokenizer.nextLine()) {
+                analyzer.analyzeLine(tokenizer.getBuffer(), tokenizer.getLineStart(), tokenizer.getLineEnd());
+            }
 
-            this.appendFindings(output, analyzer);
+            return analyzer.collectMetadata();
         } catch (IOException e) {
             throw new RuntimeException();
         }
     }
 
-    private void appendFindings(Writer output, TextAnalyzer analyzer) {
-        try {
-            output.append(this.lineFormatter.getFindingsHeader()).flush();
+    private Metadata commitToBeAnalyzed(DictionaryState current, TextAnalyzer analyzer, Reader input,
+                                        ReportWriter report, int suggestionsCount, boolean closeAfterFindings) {
+        // the tokenizer copies the analyzed input to the echo of the report a whole buffer at a time
+        try (analyzer; var tokenizer = new LineTokenizer(input, ECHO_BUFFER_SIZE, report.getTextEcho())) {
+            while (tokenizer.nextLine()) {
+                analyzer.analyzeLine(tokenizer.getBuffer(), tokenizer.getLineStart(), tokenizer.getLineEnd());
+            }
+
+            Metadata metadata = analyzer.collectMetadata();
+            report.writeMetadata(metadata);
 
             if (analyzer.foundProblemLines()) {
-                this.appendSuggestions(output, analyzer);
+                this.writeFindings(current, report, analyzer, suggestionsCount);
+            }
+            if (closeAfterFindings && analyzer.foundProblemLines()) {
+                report.close();
+            } else {
+                report.flush();
             }
+
+            return metadata;
         } catch (IOException e) {
             throw new RuntimeException();
         }
     }
 
-    private void appendSuggestions(Writer output, TextAnalyzer analyzer) {
-        try {
-            for (Map.Entry<Integer, List<String>> currentLine : analyzer.getProblemLines().entrySet()) {
-                for (String currentWrongWord : currentLine.getValue()) {
-                    int lineNumber = currentLine.getKey();
-                    List<String> suggestions = this.algorithmPerformer.getClosestWords(currentWrongWord);
+    private void writeFindings(DictionaryState current, ReportWriter report, TextAnalyzer analyzer,
+                               int suggestionsCount) throws IOException {
+        List<Finding> findings = new ArrayList<>(SUGGESTIONS_WINDOW);
+        List<CompletableFuture<List<String>>> suggestions = new ArrayList<>(SUGGESTIONS_WINDOW);
 
-                    String formattedLine =
-                            this.lineFormatter.formatLineWithSuggestions(currentWrongWord, lineNumber, suggestions);
+        for (Finding finding : analyzer.getProblemLines()) {
+            findings.add(finding);
+            suggestions.add(CompletableFuture.supplyAsync(() ->
+                    this.findSuggestions(current, finding.word(), suggestionsCount), this.suggestionsExecutor));
 
-                    output.append(formattedLine).flush();
-                }
+            if (findings.size() == SUGGESTIONS_WINDOW) {
+                writeWindow(report, findings, suggestions);
             }
-            output.close();
-        } catch (IOException e) {
-            throw new RuntimeException();
         }
+
+        writeWindow(report, findings, suggestions);
+    }
+
+    private static void writeWindow(ReportWriter report, List<Finding> findings,
+                                    List<CompletableFuture<List<String>>> suggestions) throws IOException {
+        for (int index = 0; index < findings.size(); index++) {
+            Finding finding = findings.get(index);
+            report.writeFinding(finding.lineNumber(), finding.word(), suggestions.get(index).join());
+        }
+
+        findings.clear();
+        suggestions.clear();
     }
 
-    private List<String> filterDictionaryWords(Reader reader) {
+    private static Function<DictionarySnapshot, SuggestionEngine> cosineEngineFactory(PipelineListener listener) {
+        return snapshot -> new AlgorithmPerformer(snapshot.bigramIndex(), listener);
+    }
+
+    private static List<String> filterDictionaryWords(Reader reader) {
         try (var input = new BufferedReader(reader)) {
-            return input.lines()
-                    .map(String::trim)
-                    .filter(l -> l.length() > 1)
-                    .map(WordTransformer::reform)
-                    .filter(l -> !l.equals(""))
-                    .collect(Collectors.toList());
+            return normalizeDictionaryWords(input.lines().collect(Collectors.toList()));
         } catch (IOException e) {
             throw new RuntimeException();
         }
     }
 
-    private List<String> filterStopWords(Reader reader) {
+    private static List<String> normalizeDictionaryWords(Collection<String> lines) {
+        return lines.parallelStream()
+                .map(String::trim)
+                .filter(l -> l.length() > 1)
+                .map(WordTransformer::reform)
+                .filter(l -> !l.equals(""))
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> filterStopWords(Reader reader) {
         try (var input = new BufferedReader(reader)) {
             return input.lines()
                     .map(String::trim)
@@ -187,20 +412,4 @@ public class NaiveSpellChecker implements SpellChecker {
             throw new RuntimeException();
         }
     }
-
-    private void updateMetatextSymbols(List<String> words) {
-        for (String word : words) {
-            for (int index = 0; index < word.length(); index++) {
-                char symbol = word.charAt(index);
-                if (Character.isLetter(symbol)) {
-                    if (Character.isLowerCase(symbol)) {
-                        this.metatextSymbols.add(Character.toUpperCase(symbol));
-                    } else {
-                        this.metatextSymbols.add(Character.toLowerCase(symbol));
-                    }
-                }
-                this.metatextSymbols.add(symbol);
-            }
-        }
-    }
-}
\ No newline at end of file
+}
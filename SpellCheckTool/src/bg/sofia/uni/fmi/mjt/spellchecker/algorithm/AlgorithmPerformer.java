@@ -1,117 +1,208 @@
 package bg.sofia.uni.fmi.mjt.spellchecker.algorithm;
 
 import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Dictionary;
+import bg.sofia.uni.fmi.mjt.spellchecker.metrics.PipelineListener;
 import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
 
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.PriorityQueue;
 
-public class AlgorithmPerformer {
-    private final Map<String, Map<String, Integer>> wordSyllables;
-    private final Map<String, Double> wordLengths;
-    private int suggestionsCount;
+public class AlgorithmPerformer implements SuggestionEngine {
+    private static final int[] NO_CANDIDATES = new int[0];
+    private final BigramIndex bigramIndex;
+    private final PipelineListener listener;
 
     public AlgorithmPerformer(Dictionary dictionary) {
-        this.wordSyllables =
-                dictionary.dictionaryWords().stream()
-                        .collect(Collectors.toMap(this::getIdentity, this::createSyllablesMap));
+        this(new BigramIndex(dictionary.dictionaryWords()));
+    }
 
-        this.wordLengths = this.setWordsLength(wordSyllables);
+    public AlgorithmPerformer(BigramIndex bigramIndex) {
+        this(bigramIndex, PipelineListener.NONE);
     }
 
-    public void setSuggestionsCount(int n) {
-        Validator.validatePositive(n);
-        this.suggestionsCount = n;
+    public AlgorithmPerformer(BigramIndex bigramIndex, PipelineListener listener) {
+        Validator.validateNotNull(bigramIndex, "bigramIndex");
+        Validator.validateNotNull(listener, "listener");
+
+        this.bigramIndex = bigramIndex;
+        this.listener = listener;
     }
 
-    public List<String> getClosestWords(String word) {
+    @Override
+    public List<String> getClosestWords(String word, int suggestionsCount) {
         Validator.validateNotNull(word, "word");
+        Validator.validatePositive(suggestionsCount);
+        long startNanos = this.listener == PipelineListener.NONE ? 0 : System.nanoTime();
         word = word.toLowerCase();
-        Map<String, Integer> inputWordSyllables = this.createSyllablesMap(word);
+        BigramVector inputWordSyllables = BigramVector.of(word);
+        int limit = Math.min(suggestionsCount, this.bigramIndex.getWordCount());
+        int[] wordsWithoutSyllables = this.bigramIndex.getWordsWithoutSyllables();
 
-        Map<String, Double> similarityTable = new HashMap<>();
+        List<String> closestWords = new ArrayList<>(limit);
 
-        this.wordSyllables
-                .forEach((key, value) -> similarityTable.put(key, this.calculateSimilarity(inputWordSyllables, key)));
+        if (inputWordSyllables.isEmpty()) {
+            // every similarity is 0 / 0, so the words simply come in dictionary order
+            this.appendInOrder(closestWords, limit, NO_CANDIDATES, false);
+            this.report(0, startNanos);
+            return closestWords;
+        }
+
+        // words without syllables have a similarity of NaN, which the ranking places first
+        for (int index = 0; index < wordsWithoutSyllables.length && closestWords.size() < limit; index++) {
+            closestWords.add(this.bigramIndex.getWord(wordsWithoutSyllables[index]));
+        }
 
-        return similarityTable.entrySet().stream()
-                .sorted(Map.Entry.comparingByValue(Comparator.reverseOrder()))
-                .limit(this.suggestionsCount)
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
+        int[] candidates = this.collectCandidates(inputWordSyllables);
+        Selection selection = this.selectBest(inputWordSyllables, candidates, limit - closestWords.size());
+
+        for (ScoredWord scoredWord : selection.best()) {
+            closestWords.add(this.bigramIndex.getWord(scoredWord.id()));
+        }
+
+        this.appendInOrder(closestWords, limit, candidates, true);
+        this.report(selection.scoredCandidates(), startNanos);
+        return closestWords;
+    }
 
+    private void report(int scoredCandidates, long startNanos) {
+        if (this.listener != PipelineListener.NONE) {
+            this.listener.closestWordsFound(scoredCandidates, System.nanoTime() - startNanos);
+        }
     }
 
-    private double calculateSimilarity(Map<String, Integer> inputWordSyllables, String currentDictionaryWord) {
-        double inputWordLength = this.calculateLength(inputWordSyllables);
-        double dictionaryWordLength = this.wordLengths.get(currentDictionaryWord);
+    /**
+     * Keeps the {@code count} best candidates. A candidate whose profile bound cannot beat the worst word kept so
+     * far is skipped without scoring, and the scan stops once no profile can. Candidates come in id order, so an
+     * equal score never displaces a kept word and a bound that only ties it is enough to skip.
+     */
+    private Selection selectBest(BigramVector inputWordSyllables, int[] candidates, int count) {
+        if (count <= 0) {
+            return new Selection(List.of(), 0);
+        }
 
-        Map<String, Integer> dictionaryWordSyllables = this.wordSyllables.get(currentDictionaryWord);
+        double[] bounds = this.calculateSimilarityBounds(inputWordSyllables);
+        double highestBound = Arrays.stream(bounds).max().orElse(0);
+        PriorityQueue<ScoredWord> best = new PriorityQueue<>(count, ScoredWord.WORST_FIRST);
+        int scoredCandidates = 0;
+
+        for (int id : candidates) {
+            if (best.size() == count) {
+                double worstKept = best.peek().similarity();
+
+                if (worstKept >= highestBound) {
+                    break;
+                }
+                if (bounds[this.bigramIndex.getProfile(id)] <= worstKept) {
+                    continue;
+                }
+            }
 
-        Map<String, Integer> filteredDictionaryWordSyllables =
-                dictionaryWordSyllables.entrySet()
-                        .stream()
-                        .filter(entry -> inputWordSyllables.containsKey(entry.getKey()))
-                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            ScoredWord scoredWord = new ScoredWord(id, this.calculateSimilarity(inputWordSyllables, id));
+            scoredCandidates++;
 
-        int vectorProduct = inputWordSyllables.entrySet()
-                .stream()
-                .filter(entry -> filteredDictionaryWordSyllables.containsKey(entry.getKey()))
-                .reduce(0, (total, currPair) ->
-                                total += (currPair.getValue() * filteredDictionaryWordSyllables.get(currPair.getKey())),
-                        Integer::sum);
+            if (best.size() < count) {
+                best.add(scoredWord);
+            } else if (ScoredWord.BEST_FIRST.compare(scoredWord, best.peek()) < 0) {
+                best.poll();
+                best.add(scoredWord);
+            }
+        }
 
-        return (double) vectorProduct / (inputWordLength * dictionaryWordLength);
+        List<ScoredWord> selected = new ArrayList<>(best);
+        selected.sort(ScoredWord.BEST_FIRST);
+        return new Selection(selected, scoredCandidates);
     }
 
-    private Map<String, Integer> createSyllablesMap(String word) {
-        Map<String, Integer> syllablesCount = new HashMap<>();
-        String currentSyllable;
-        StringBuilder builder = new StringBuilder();
-        int index = 0;
-
-        while (index < word.length() - 1) {
-            builder.append(this.changeCaseIfNeeded(word.charAt(index)))
-                    .append(this.changeCaseIfNeeded(word.charAt(index + 1)));
-            currentSyllable = builder.toString();
-            if (syllablesCount.containsKey(currentSyllable)) {
-                int oldValue = syllablesCount.get(currentSyllable);
-                syllablesCount.replace(currentSyllable, oldValue + 1);
-            } else {
-                syllablesCount.put(currentSyllable, 1);
+    private void appendInOrder(List<String> closestWords, int limit, int[] excludedIds,
+                               boolean skipWordsWithoutSyllables) {
+        int[] wordsWithoutSyllables = this.bigramIndex.getWordsWithoutSyllables();
+        int excludedIndex = 0;
+        int emptyIndex = skipWordsWithoutSyllables ? 0 : wordsWithoutSyllables.length;
+
+        for (int id = 0; id < this.bigramIndex.size() && closestWords.size() < limit; id++) {
+            while (excludedIndex < excludedIds.length && excludedIds[excludedIndex] < id) {
+                excludedIndex++;
             }
-            builder.setLength(0);
-            index++;
-        }
+            while (emptyIndex < wordsWithoutSyllables.length && wordsWithoutSyllables[emptyIndex] < id) {
+                emptyIndex++;
+            }
+
+            boolean excluded = excludedIndex < excludedIds.length && excludedIds[excludedIndex] == id;
+            boolean empty = emptyIndex < wordsWithoutSyllables.length && wordsWithoutSyllables[emptyIndex] == id;
 
-        return syllablesCount;
+            if (!excluded && !empty && !this.bigramIndex.isRemoved(id)) {
+                closestWords.add(this.bigramIndex.getWord(id));
+            }
+        }
     }
 
-    private char changeCaseIfNeeded(char symbol) {
-        return Character.isLetter(symbol) && Character.isUpperCase(symbol)
-                ? Character.toLowerCase(symbol) : symbol;
+    private int[] collectCandidates(BigramVector inputWordSyllables) {
+        int total = 0;
+        for (int syllable : inputWordSyllables.syllables()) {
+            total += this.bigramIndex.getPostingCount(syllable);
+        }
+
+        int[] candidates = new int[total];
+        int size = 0;
+        for (int syllable : inputWordSyllables.syllables()) {
+            size += this.bigramIndex.copyPostings(syllable, candidates, size);
+        }
+
+        Arrays.sort(candidates);
+
+        int unique = 0;
+        for (int index = 0; index < candidates.length; index++) {
+            boolean repeated = index > 0 && candidates[index] == candidates[index - 1];
+            if (!repeated && !this.bigramIndex.isRemoved(candidates[index])) {
+                candidates[unique++] = candidates[index];
+            }
+        }
+
+        return Arrays.copyOf(candidates, unique);
     }
 
-    private double calculateLength(Map<String, Integer> syllablesCount) {
-        int res = syllablesCount.values().stream()
-                .reduce(0, (total, element) -> total + (int) Math.pow(element, 2));
+    private double calculateSimilarity(BigramVector inputWordSyllables, int id) {
+        int vectorProduct = this.bigramIndex.dotProduct(inputWordSyllables, id);
 
-        return Math.sqrt(res);
+        return (double) vectorProduct / (inputWordSyllables.length() * this.bigramIndex.getLength(id));
     }
 
-    private Map<String, Double> setWordsLength(Map<String, Map<String, Integer>> wordSyllables) {
-        Map<String, Double> lengths = new HashMap<>();
+    private double[] calculateSimilarityBounds(BigramVector inputWordSyllables) {
+        int[] syllables = inputWordSyllables.syllables();
+        int[] counts = inputWordSyllables.counts();
+        int[] maxCounts = new int[syllables.length];
+        int largestInputCount = 0;
+        for (int index = 0; index < syllables.length; index++) {
+            maxCounts[index] = this.bigramIndex.getMaxCount(syllables[index]);
+            largestInputCount = Math.max(largestInputCount, counts[index]);
+        }
 
-        wordSyllables.forEach((key, value) -> lengths.put(key, this.calculateLength(value)));
+        double[] bounds = new double[this.bigramIndex.getProfileCount()];
+        for (int profile = 0; profile < bounds.length; profile++) {
+            int normSquare = this.bigramIndex.getProfileNormSquare(profile);
+            int maxCount = this.bigramIndex.getProfileMaxCount(profile);
+            if (normSquare == 0) {
+                // words without syllables are never candidates
+                continue;
+            }
 
-        return lengths;
-    }
+            // every shared bigram counts at most as often as in the word with the most of it, or in this profile
+            long sharedBound = 0;
+            for (int index = 0; index < counts.length; index++) {
+                sharedBound += (long) counts[index] * Math.min(maxCounts[index], maxCount);
+            }
+            // the bigram counts of a word sum to at most its squared length
+            long productBound = Math.min(sharedBound, (long) largestInputCount * normSquare);
+
+            // the same division as calculateSimilarity, so no score of the profile exceeds it in floating point
+            bounds[profile] = (double) productBound / (inputWordSyllables.length() * Math.sqrt(normSquare));
+        }
 
-    private String getIdentity(String word) {
-        return word;
+        return bounds;
     }
 
+    private record Selection(List<ScoredWord> best, int scoredCandidates) {
+    }
 }
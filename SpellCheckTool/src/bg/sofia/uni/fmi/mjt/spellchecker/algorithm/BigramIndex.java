@@ -0,0 +1,712 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.algorithm;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.snapshot.SnapshotInput;
+import bg.sofia.uni.fmi.mjt.spellchecker.snapshot.SnapshotOutput;
+import bg.sofia.uni.fmi.mjt.spellchecker.storage.Buffers;
+import bg.sofia.uni.fmi.mjt.spellchecker.storage.WordPool;
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Bigram vectors of all dictionary words in flat primitive arrays.
+ * The vector of word {@code id} occupies {@code [offsets[id], offsets[id + 1])} of
+ * {@code syllables} and {@code counts}; the ids in {@code [postingOffsets[position], postingOffsets[position + 1])}
+ * of {@code postingIds} are the sorted ids of the words containing the bigram {@code postingSyllables[position]}.
+ * Every word also has a profile, its squared vector length and largest count of a single bigram, which together
+ * bound its similarity to any other vector.
+ * {@link #withWords} and {@link #withoutWords} derive updated copies that never copy these arrays: added words get
+ * the next ids in a small overlay with postings of its own, and removed ones are only marked, so ids never move.
+ * Once the overlay holds more than {@code OVERLAY_LIMIT} words, everything is built again without it.
+ * The words, their vectors and their lengths are held in buffers that {@link #offHeap} moves to direct memory. The
+ * postings and the per bigram and per word tables are flat buffers too; they stay on the heap, where they cost the
+ * garbage collector nothing to trace, unless the index is read off-heap from a snapshot, which holds them all, so
+ * nothing is copied out of or recomputed from the mapped file.
+ */
+public class BigramIndex {
+    private static final int OVERLAY_LIMIT = 4096;
+    private static final int PROFILE_NORM_SQUARE_SHIFT = Integer.SIZE;
+    private final WordPool words;
+    private final IntBuffer offsets;
+    private final IntBuffer syllables;
+    private final IntBuffer counts;
+    private final DoubleBuffer lengths;
+    private final int[] postingSyllables;
+    private final IntBuffer postingOffsets;
+    private final IntBuffer postingIds;
+    private final IntBuffer maxCounts;
+    private final IntBuffer profileIds;
+    private final long[] profiles;
+    private final Overlay overlay;
+    private final int[] wordsWithoutSyllables;
+    private final BitSet removedIds;
+    private final int wordCount;
+
+    public BigramIndex(List<String> dictionaryWords) {
+        this(orderWords(dictionaryWords), false);
+    }
+
+    private BigramIndex(String[] orderedWords, boolean direct) {
+        int[] offsets = new int[orderedWords.length + 1];
+        double[] lengths = new double[orderedWords.length];
+
+        BigramVector[] vectors = new BigramVector[orderedWords.length];
+        IntStream.range(0, orderedWords.length).parallel()
+                .forEach(id -> vectors[id] = BigramVector.of(orderedWords[id]));
+
+        for (int id = 0; id < orderedWords.length; id++) {
+            offsets[id + 1] = offsets[id] + vectors[id].syllables().length;
+            lengths[id] = vectors[id].length();
+        }
+
+        int[] syllables = new int[offsets[orderedWords.length]];
+        int[] counts = new int[syllables.length];
+        IntStream.range(0, orderedWords.length).parallel().forEach(id -> {
+            int[] wordSyllables = vectors[id].syllables();
+            System.arraycopy(wordSyllables, 0, syllables, offsets[id], wordSyllables.length);
+            System.arraycopy(vectors[id].counts(), 0, counts, offsets[id], wordSyllables.length);
+        });
+
+        this.words = WordPool.of(orderedWords, direct);
+        this.offsets = Buffers.ints(offsets, direct);
+        this.syllables = Buffers.ints(syllables, direct);
+        this.counts = Buffers.ints(counts, direct);
+        this.lengths = Buffers.doubles(lengths, direct);
+        this.postingSyllables = this.collectDistinctSyllables();
+
+        long[] postingEntries = this.sortPostingEntries();
+        this.postingOffsets = IntBuffer.wrap(this.findPostingOffsets(postingEntries));
+        this.postingIds = IntBuffer.wrap(Arrays.stream(postingEntries).parallel().mapToInt(entry -> (int) entry)
+                .toArray());
+
+        this.maxCounts = IntBuffer.wrap(this.findMaxCounts());
+        this.profiles = this.collectProfiles();
+        this.profileIds = IntBuffer.wrap(this.identifyProfiles());
+        this.overlay = Overlay.empty(this.words.size());
+        this.wordsWithoutSyllables = this.findWordsWithoutSyllables();
+        this.removedIds = new BitSet();
+        this.wordCount = this.words.size();
+    }
+
+    private BigramIndex(WordPool words, IntBuffer offsets, IntBuffer syllables, IntBuffer counts, DoubleBuffer lengths,
+                        int[] postingSyllables, IntBuffer postingOffsets, IntBuffer postingIds, IntBuffer maxCounts,
+                        IntBuffer profileIds, long[] profiles, Overlay overlay, int[] wordsWithoutSyllables,
+                        BitSet removedIds) {
+        this.words = words;
+        this.offsets = offsets;
+        this.syllables = syllables;
+        this.counts = counts;
+        this.lengths = lengths;
+        this.postingSyllables = postingSyllables;
+        this.postingOffsets = postingOffsets;
+        this.postingIds = postingIds;
+        this.maxCounts = maxCounts;
+        this.profileIds = profileIds;
+        this.profiles = profiles;
+        this.overlay = overlay;
+        this.wordsWithoutSyllables = wordsWithoutSyllables;
+        this.removedIds = removedIds;
+        this.wordCount = words.size() + overlay.size() - removedIds.cardinality();
+    }
+
+    public static BigramIndex readFrom(SnapshotInput input) {
+        return readFrom(input, false);
+    }
+
+    /**
+     * Reads an index written by {@link #writeTo}. If {@code direct}, its buffers are read in place from a mapped
+     * snapshot, otherwise they are copied to the heap.
+     */
+    public static BigramIndex readFrom(SnapshotInput input, boolean direct) {
+        Validator.validateNotNull(input, "input");
+
+        WordPool words = WordPool.readFrom(input, direct);
+        IntBuffer offsets = input.readIntBuffer(direct);
+        IntBuffer syllables = input.readIntBuffer(direct);
+        IntBuffer counts = input.readIntBuffer(direct);
+        DoubleBuffer lengths = input.readDoubleBuffer(direct);
+        int[] postingSyllables = input.readInts();
+        IntBuffer postingOffsets = input.readIntBuffer(direct);
+        IntBuffer postingIds = input.readIntBuffer(direct);
+        IntBuffer maxCounts = input.readIntBuffer(direct);
+        long[] profiles = input.readLongs();
+        IntBuffer profileIds = input.readIntBuffer(direct);
+        int[] wordsWithoutSyllables = input.readInts();
+
+        return new BigramIndex(words, offsets, syllables, counts, lengths, postingSyllables, postingOffsets,
+                postingIds, maxCounts, profileIds, profiles, Overlay.empty(words.size()), wordsWithoutSyllables,
+                new BitSet());
+    }
+
+    public void writeTo(SnapshotOutput output) throws IOException {
+        Validator.validateNotNull(output, "output");
+
+        if (!this.removedIds.isEmpty() || this.overlay.size() > 0) {
+            // the overlay is merged and removed words are left out, the remaining ones keep their order
+            new BigramIndex(this.getWords().toArray(new String[0]), false).writeTo(output);
+            return;
+        }
+
+        this.words.writeTo(output);
+        output.writeInts(this.offsets);
+        output.writeInts(this.syllables);
+        output.writeInts(this.counts);
+        output.writeDoubles(this.lengths);
+        output.writeInts(this.postingSyllables);
+        output.writeInts(this.postingOffsets);
+        output.writeInts(this.postingIds);
+        output.writeInts(this.maxCounts);
+        output.writeLongs(this.profiles);
+        output.writeInts(this.profileIds);
+        output.writeInts(this.wordsWithoutSyllables);
+    }
+
+    /**
+     * Returns a copy that also holds {@code dictionaryWords}, skipping the ones it already holds.
+     */
+    public BigramIndex withWords(List<String> dictionaryWords) {
+        Validator.validateNotNull(dictionaryWords, "dictionaryWords");
+
+        String[] added = dictionaryWords.stream()
+                .distinct()
+                .filter(word -> !this.contains(word))
+                .toArray(String[]::new);
+        if (added.length == 0) {
+            return this;
+        }
+
+        if (this.overlay.size() + added.length > OVERLAY_LIMIT) {
+            List<String> merged = new ArrayList<>(this.getWords());
+            merged.addAll(Arrays.asList(added));
+
+            return new BigramIndex(merged.toArray(new String[0]), this.isOffHeap());
+        }
+
+        int firstId = this.size();
+        BigramVector[] vectors = new BigramVector[added.length];
+        int[] addedProfileIds = new int[added.length];
+        int[] wordsWithoutSyllables = this.wordsWithoutSyllables;
+        long[] profiles = this.profiles;
+
+        for (int index = 0; index < added.length; index++) {
+            vectors[index] = BigramVector.of(added[index]);
+            if (vectors[index].isEmpty()) {
+                wordsWithoutSyllables = append(wordsWithoutSyllables, firstId + index);
+            }
+
+            long profile = profileOf(vectors[index].counts());
+            int profileId = indexOf(profiles, profile);
+            if (profileId < 0) {
+                profileId = profiles.length;
+                profiles = Arrays.copyOf(profiles, profiles.length + 1);
+                profiles[profileId] = profile;
+            }
+            addedProfileIds[index] = profileId;
+        }
+
+        return new BigramIndex(this.words, this.offsets, this.syllables, this.counts, this.lengths,
+                this.postingSyllables, this.postingOffsets, this.postingIds, this.maxCounts, this.profileIds,
+                profiles, this.overlay.withWords(added, vectors, addedProfileIds), wordsWithoutSyllables,
+                this.removedIds);
+    }
+
+    /**
+     * Returns a copy without {@code dictionaryWords}, skipping the ones it does not hold.
+     */
+    public BigramIndex withoutWords(List<String> dictionaryWords) {
+        Validator.validateNotNull(dictionaryWords, "dictionaryWords");
+
+        int[] ids = dictionaryWords.stream()
+                .distinct()
+                .mapToInt(this::findId)
+                .filter(id -> id >= 0)
+                .toArray();
+        if (ids.length == 0) {
+            return this;
+        }
+
+        BitSet removedIds = (BitSet) this.removedIds.clone();
+        for (int id : ids) {
+            removedIds.set(id);
+        }
+
+        int[] wordsWithoutSyllables = Arrays.stream(this.wordsWithoutSyllables)
+                .filter(id -> !removedIds.get(id))
+                .toArray();
+
+        // the largest counts and profiles of removed words still bound the remaining ones from above
+        return new BigramIndex(this.words, this.offsets, this.syllables, this.counts, this.lengths,
+                this.postingSyllables, this.postingOffsets, this.postingIds, this.maxCounts, this.profileIds,
+                this.profiles, this.overlay, wordsWithoutSyllables, removedIds);
+    }
+
+    /**
+     * Returns this index if its words, vectors and lengths are already in direct memory, otherwise a copy where they
+     * are. The overlay of added words stays on the heap.
+     */
+    public BigramIndex offHeap() {
+        if (this.isOffHeap()) {
+            return this;
+        }
+
+        return new BigramIndex(this.words.copy(true), Buffers.copyOf(this.offsets, this.offsets.capacity(), true),
+                Buffers.copyOf(this.syllables, this.syllables.capacity(), true),
+                Buffers.copyOf(this.counts, this.counts.capacity(), true),
+                Buffers.copyOf(this.lengths, this.lengths.capacity(), true), this.postingSyllables,
+                this.postingOffsets, this.postingIds, this.maxCounts, this.profileIds, this.profiles, this.overlay,
+                this.wordsWithoutSyllables, this.removedIds);
+    }
+
+    public boolean isOffHeap() {
+        return this.words.isDirect();
+    }
+
+    /**
+     * Returns whether {@code word} is one of the dictionary words, spelled exactly the same.
+     */
+    public boolean contains(String word) {
+        Validator.validateNotNull(word, "word");
+
+        return this.findId(word) >= 0;
+    }
+
+    /**
+     * Returns the number of ids, including those of removed words.
+     */
+    public int size() {
+        return this.words.size() + this.overlay.size();
+    }
+
+    /**
+     * Returns the number of dictionary words, not counting removed ones.
+     */
+    public int getWordCount() {
+        return this.wordCount;
+    }
+
+    public boolean isRemoved(int id) {
+        return this.removedIds.get(id);
+    }
+
+    /**
+     * Returns the dictionary words in id order.
+     */
+    public List<String> getWords() {
+        return IntStream.range(0, this.size())
+                .filter(id -> !this.removedIds.get(id))
+                .mapToObj(this::getWord)
+                .toList();
+    }
+
+    public String getWord(int id) {
+        return this.overlay.holds(id) ? this.overlay.word(id) : this.words.get(id);
+    }
+
+    public double getLength(int id) {
+        return this.overlay.holds(id) ? this.overlay.vector(id).length() : this.lengths.get(id);
+    }
+
+    /**
+     * Returns how many ids {@link #copyPostings} copies for {@code syllable}.
+     */
+    public int getPostingCount(int syllable) {
+        int position = Arrays.binarySearch(this.postingSyllables, syllable);
+        int overlayPosition = this.overlay.findPosting(syllable);
+
+        return (position < 0 ? 0 : this.postingOffsets.get(position + 1) - this.postingOffsets.get(position))
+                + (overlayPosition < 0 ? 0 : this.overlay.postings[overlayPosition].length);
+    }
+
+    /**
+     * Copies the sorted ids of the words containing {@code syllable} to {@code target} from {@code offset} on and
+     * returns how many there are. The ids of removed words are among them.
+     */
+    public int copyPostings(int syllable, int[] target, int offset) {
+        int copied = 0;
+
+        int position = Arrays.binarySearch(this.postingSyllables, syllable);
+        if (position >= 0) {
+            int from = this.postingOffsets.get(position);
+            copied = this.postingOffsets.get(position + 1) - from;
+            this.postingIds.get(from, target, offset, copied);
+        }
+
+        int overlayPosition = this.overlay.findPosting(syllable);
+        if (overlayPosition >= 0) {
+            int[] ids = this.overlay.postings[overlayPosition];
+            System.arraycopy(ids, 0, target, offset + copied, ids.length);
+            copied += ids.length;
+        }
+
+        return copied;
+    }
+
+    public int[] getWordsWithoutSyllables() {
+        return this.wordsWithoutSyllables;
+    }
+
+    /**
+     * Returns the largest number of times {@code syllable} occurs in a single dictionary word, 0 if in none.
+     */
+    public int getMaxCount(int syllable) {
+        int position = Arrays.binarySearch(this.postingSyllables, syllable);
+        int overlayPosition = this.overlay.findPosting(syllable);
+
+        return Math.max(position < 0 ? 0 : this.maxCounts.get(position),
+                overlayPosition < 0 ? 0 : this.overlay.maxCounts[overlayPosition]);
+    }
+
+    public int getProfileCount() {
+        return this.profiles.length;
+    }
+
+    public int getProfile(int id) {
+        return this.overlay.holds(id) ? this.overlay.profileId(id) : this.profileIds.get(id);
+    }
+
+    public int getProfileNormSquare(int profile) {
+        return (int) (this.profiles[profile] >>> PROFILE_NORM_SQUARE_SHIFT);
+    }
+
+    public int getProfileMaxCount(int profile) {
+        return (int) this.profiles[profile];
+    }
+
+    public int dotProduct(BigramVector vector, int id) {
+        if (this.overlay.holds(id)) {
+            BigramVector added = this.overlay.vector(id);
+            return dotProduct(vector, added.syllables(), added.counts(), 0, added.syllables().length);
+        }
+
+        int from = this.offsets.get(id);
+        int to = this.offsets.get(id + 1);
+
+        // this is the innermost loop of every query, so heap vectors are read straight from their arrays
+        if (this.syllables.hasArray()) {
+            return dotProduct(vector, this.syllables.array(), this.counts.array(), from, to);
+        }
+
+        int[] vectorSyllables = vector.syllables();
+        int[] vectorCounts = vector.counts();
+        int vectorIndex = 0;
+        int index = from;
+        int product = 0;
+
+        while (vectorIndex < vectorSyllables.length && index < to) {
+            int syllable = this.syllables.get(index);
+
+            if (vectorSyllables[vectorIndex] == syllable) {
+                product += vectorCounts[vectorIndex++] * this.counts.get(index++);
+            } else if (vectorSyllables[vectorIndex] < syllable) {
+                vectorIndex++;
+            } else {
+                index++;
+            }
+        }
+
+        return product;
+    }
+
+    private static int dotProduct(BigramVector vector, int[] syllables, int[] counts, int from, int to) {
+        int[] vectorSyllables = vector.syllables();
+        int[] vectorCounts = vector.counts();
+        int vectorIndex = 0;
+        int index = from;
+        int product = 0;
+
+        while (vectorIndex < vectorSyllables.length && index < to) {
+            int syllable = syllables[index];
+
+            if (vectorSyllables[vectorIndex] == syllable) {
+                product += vectorCounts[vectorIndex++] * counts[index++];
+            } else if (vectorSyllables[vectorIndex] < syllable) {
+                vectorIndex++;
+            } else {
+                index++;
+            }
+        }
+
+        return product;
+    }
+
+    private int[] collectDistinctSyllables() {
+        int[] distinct = Buffers.toArray(this.syllables);
+        Arrays.parallelSort(distinct);
+
+        int unique = 0;
+        for (int index = 0; index < distinct.length; index++) {
+            if (index == 0 || distinct[index] != distinct[index - 1]) {
+                distinct[unique++] = distinct[index];
+            }
+        }
+
+        return Arrays.copyOf(distinct, unique);
+    }
+
+    private long[] sortPostingEntries() {
+        // (posting position, word id) pairs sorted together give every posting list already in id order
+        long[] entries = new long[this.syllables.capacity()];
+        IntStream.range(0, this.words.size()).parallel().forEach(id -> {
+            for (int index = this.offsets.get(id); index < this.offsets.get(id + 1); index++) {
+                long position = Arrays.binarySearch(this.postingSyllables, this.syllables.get(index));
+                entries[index] = (position << Integer.SIZE) | id;
+            }
+        });
+        Arrays.parallelSort(entries);
+
+        return entries;
+    }
+
+    private int[] findPostingOffsets(long[] sortedEntries) {
+        int[] result = new int[this.postingSyllables.length + 1];
+        for (long entry : sortedEntries) {
+            result[(int) (entry >>> Integer.SIZE) + 1]++;
+        }
+        for (int position = 0; position < this.postingSyllables.length; position++) {
+            result[position + 1] += result[position];
+        }
+
+        return result;
+    }
+
+    private int[] findMaxCounts() {
+        int[] result = new int[this.postingSyllables.length];
+        IntStream.range(0, result.length).parallel().forEach(position -> {
+            int syllable = this.postingSyllables[position];
+
+            int end = this.postingOffsets.get(position + 1);
+            for (int index = this.postingOffsets.get(position); index < end; index++) {
+                int wordIndex = this.indexOf(this.postingIds.get(index), syllable);
+                result[position] = Math.max(result[position], this.counts.get(wordIndex));
+            }
+        });
+
+        return result;
+    }
+
+    private int indexOf(int id, int syllable) {
+        int low = this.offsets.get(id);
+        int high = this.offsets.get(id + 1) - 1;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (this.syllables.get(middle) < syllable) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    private long[] collectProfiles() {
+        return IntStream.range(0, this.words.size()).parallel()
+                .mapToLong(this::profileOf)
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    private int[] identifyProfiles() {
+        return IntStream.range(0, this.words.size()).parallel()
+                .map(id -> Arrays.binarySearch(this.profiles, this.profileOf(id)))
+                .toArray();
+    }
+
+    private long profileOf(int id) {
+        int normSquare = 0;
+        int maxCount = 0;
+        for (int index = this.offsets.get(id); index < this.offsets.get(id + 1); index++) {
+            normSquare += this.counts.get(index) * this.counts.get(index);
+            maxCount = Math.max(maxCount, this.counts.get(index));
+        }
+
+        return (long) normSquare << PROFILE_NORM_SQUARE_SHIFT | maxCount;
+    }
+
+    private int findId(String word) {
+        BigramVector vector = BigramVector.of(word);
+        if (vector.isEmpty()) {
+            for (int id : this.wordsWithoutSyllables) {
+                if (this.matches(id, word)) {
+                    return id;
+                }
+            }
+
+            return -1;
+        }
+
+        int[] ids = new int[this.getPostingCount(vector.syllables()[0])];
+        this.copyPostings(vector.syllables()[0], ids, 0);
+        for (int id : ids) {
+            if (!this.removedIds.get(id) && this.matches(id, word)) {
+                return id;
+            }
+        }
+
+        return -1;
+    }
+
+    private boolean matches(int id, String word) {
+        return this.overlay.holds(id) ? this.overlay.word(id).equals(word) : this.words.matches(id, word);
+    }
+
+    private int[] findWordsWithoutSyllables() {
+        return IntStream.range(0, this.words.size()).parallel()
+                .filter(id -> this.offsets.get(id) == this.offsets.get(id + 1))
+                .toArray();
+    }
+
+    private static long profileOf(int[] counts) {
+        int normSquare = 0;
+        int maxCount = 0;
+        for (int count : counts) {
+            normSquare += count * count;
+            maxCount = Math.max(maxCount, count);
+        }
+
+        return (long) normSquare << PROFILE_NORM_SQUARE_SHIFT | maxCount;
+    }
+
+    private static int indexOf(long[] values, long value) {
+        for (int index = 0; index < values.length; index++) {
+            if (values[index] == value) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int[] append(int[] values, int value) {
+        int[] result = Arrays.copyOf(values, values.length + 1);
+        result[values.length] = value;
+
+        return result;
+    }
+
+    private static String[] orderWords(List<String> dictionaryWords) {
+        Validator.validateNotNull(dictionaryWords, "dictionaryWords");
+
+        // hash order is the order in which ties between equally similar words have always been resolved
+        Set<String> ordered = new HashSet<>();
+        for (String word : dictionaryWords) {
+            ordered.add(word);
+        }
+
+        return ordered.toArray(new String[0]);
+    }
+
+    /**
+     * The words added since the index was last built, with ids from {@code firstId} on. It is rebuilt on every
+     * update, which costs as much as the few words it holds.
+     */
+    private static final class Overlay {
+        private final int firstId;
+        private final String[] words;
+        private final BigramVector[] vectors;
+        private final int[] profileIds;
+        private final int[] postingSyllables;
+        private final int[][] postings;
+        private final int[] maxCounts;
+
+        private Overlay(int firstId, String[] words, BigramVector[] vectors, int[] profileIds) {
+            this.firstId = firstId;
+            this.words = words;
+            this.vectors = vectors;
+            this.profileIds = profileIds;
+
+            // (bigram, word id) pairs sorted together give every posting list in id order, as for the whole index
+            int total = Arrays.stream(vectors).mapToInt(vector -> vector.syllables().length).sum();
+            long[] entries = new long[total];
+            int size = 0;
+            for (int index = 0; index < vectors.length; index++) {
+                for (int syllable : vectors[index].syllables()) {
+                    entries[size++] = (long) syllable << Integer.SIZE | index;
+                }
+            }
+            Arrays.sort(entries);
+
+            int distinct = 0;
+            for (int index = 0; index < entries.length; index++) {
+                if (index == 0 || entries[index] >>> Integer.SIZE != entries[index - 1] >>> Integer.SIZE) {
+                    distinct++;
+                }
+            }
+
+            this.postingSyllables = new int[distinct];
+            this.postings = new int[distinct][];
+            this.maxCounts = new int[distinct];
+            int start = 0;
+            for (int position = 0; position < distinct; position++) {
+                int end = start + 1;
+                while (end < entries.length && entries[end] >>> Integer.SIZE == entries[start] >>> Integer.SIZE) {
+                    end++;
+                }
+
+                int syllable = (int) (entries[start] >>> Integer.SIZE);
+                int[] ids = new int[end - start];
+                for (int index = start; index < end; index++) {
+                    BigramVector vector = vectors[(int) entries[index]];
+                    ids[index - start] = firstId + (int) entries[index];
+                    this.maxCounts[position] = Math.max(this.maxCounts[position],
+                            vector.counts()[Arrays.binarySearch(vector.syllables(), syllable)]);
+                }
+
+                this.postingSyllables[position] = syllable;
+                this.postings[position] = ids;
+                start = end;
+            }
+        }
+
+        private static Overlay empty(int firstId) {
+            return new Overlay(firstId, new String[0], new BigramVector[0], new int[0]);
+        }
+
+        private Overlay withWords(String[] added, BigramVector[] addedVectors, int[] addedProfileIds) {
+            String[] words = Arrays.copyOf(this.words, this.words.length + added.length);
+            BigramVector[] vectors = Arrays.copyOf(this.vectors, words.length);
+            int[] profileIds = Arrays.copyOf(this.profileIds, words.length);
+            System.arraycopy(added, 0, words, this.words.length, added.length);
+            System.arraycopy(addedVectors, 0, vectors, this.words.length, added.length);
+            System.arraycopy(addedProfileIds, 0, profileIds, this.words.length, added.length);
+
+            return new Overlay(this.firstId, words, vectors, profileIds);
+        }
+
+        private int size() {
+            return this.words.length;
+        }
+
+        private boolean holds(int id) {
+            return id >= this.firstId;
+        }
+
+        private String word(int id) {
+            return this.words[id - this.firstId];
+        }
+
+        private BigramVector vector(int id) {
+            return this.vectors[id - this.firstId];
+        }
+
+        private int profileId(int id) {
+            return this.profileIds[id - this.firstId];
+        }
+
+        private int findPosting(int syllable) {
+            return Arrays.binarySearch(this.postingSyllables, syllable);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.algorithm;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.util.Arrays;
+
+/**
+ * Bigram counts of a single word: each bigram is packed into an int (first char in the high half,
+ * second char in the low half) and the keys are kept sorted, so two vectors can be multiplied by a merge.
+ */
+public record BigramVector(int[] syllables, int[] counts, double length) {
+    private static final int CHAR_BITS = 16;
+
+    public static BigramVector of(String word) {
+        Validator.validateNotNull(word, "word");
+
+        if (word.length() < 2) {
+            return new BigramVector(new int[0], new int[0], 0);
+        }
+
+        int[] packed = new int[word.length() - 1];
+        for (int index = 0; index < packed.length; index++) {
+            packed[index] = pack(word.charAt(index), word.charAt(index + 1));
+        }
+        Arrays.sort(packed);
+
+        int distinct = 0;
+        int[] counts = new int[packed.length];
+        for (int index = 0; index < packed.length; index++) {
+            if (index > 0 && packed[index] == packed[distinct - 1]) {
+                counts[distinct - 1]++;
+            } else {
+                packed[distinct] = packed[index];
+                counts[distinct] = 1;
+                distinct++;
+            }
+        }
+
+        int[] syllables = Arrays.copyOf(packed, distinct);
+        counts = Arrays.copyOf(counts, distinct);
+        return new BigramVector(syllables, counts, calculateLength(counts, 0, distinct));
+    }
+
+    public static int pack(char first, char second) {
+        return (changeCaseIfNeeded(first) << CHAR_BITS) | changeCaseIfNeeded(second);
+    }
+
+    public static double calculateLength(int[] counts, int from, int to) {
+        int res = 0;
+        for (int index = from; index < to; index++) {
+            res += counts[index] * counts[index];
+        }
+
+        return Math.sqrt(res);
+    }
+
+    public boolean isEmpty() {
+        return this.syllables.length == 0;
+    }
+
+    private static char changeCaseIfNeeded(char symbol) {
+        return Character.isLetter(symbol) && Character.isUpperCase(symbol)
+                ? Character.toLowerCase(symbol) : symbol;
+    }
+}
@@ -0,0 +1,136 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.algorithm;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Suggests the dictionary words within {@code maxEditDistance} Damerau-Levenshtein edits of the queried word,
+ * closest first and alphabetically among equally close ones.
+ * The words form a BK-tree: every child hangs under the edge labelled with its distance to the parent. Because the
+ * distance is a metric, a query only descends into the children whose edge is within {@code maxEditDistance} of
+ * the query's own distance to the parent, and a distance is only computed as far as those edges can use it.
+ * Fewer words than requested are returned when not enough of them are close enough.
+ */
+public class BkTreeEngine implements SuggestionEngine {
+    private static final int DEFAULT_MAX_EDIT_DISTANCE = 2;
+    private static final int NO_NODE = -1;
+    private final String[] words;
+    private final String[] foldedWords;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] parentDistance;
+    private final int[] farthestChild;
+    private final int maxEditDistance;
+    private final ThreadLocal<EditDistance> editDistance = ThreadLocal.withInitial(EditDistance::new);
+
+    public BkTreeEngine(List<String> dictionaryWords) {
+        this(dictionaryWords, DEFAULT_MAX_EDIT_DISTANCE);
+    }
+
+    public BkTreeEngine(List<String> dictionaryWords, int maxEditDistance) {
+        Validator.validateNotNull(dictionaryWords, "dictionaryWords");
+        Validator.validatePositive(maxEditDistance);
+
+        this.words = dictionaryWords.toArray(new String[0]);
+        this.foldedWords = new String[this.words.length];
+        this.firstChild = new int[this.words.length];
+        this.nextSibling = new int[this.words.length];
+        this.parentDistance = new int[this.words.length];
+        this.farthestChild = new int[this.words.length];
+        this.maxEditDistance = maxEditDistance;
+
+        Arrays.fill(this.firstChild, NO_NODE);
+        Arrays.fill(this.nextSibling, NO_NODE);
+
+        EditDistance distances = this.editDistance.get();
+        for (int id = 0; id < this.words.length; id++) {
+            this.foldedWords[id] = this.words[id].toLowerCase();
+
+            if (id > 0) {
+                this.insert(id, distances);
+            }
+        }
+    }
+
+    @Override
+    public List<String> getClosestWords(String word, int suggestionsCount) {
+        Validator.validateNotNull(word, "word");
+        Validator.validatePositive(suggestionsCount);
+
+        if (this.words.length == 0) {
+            return List.of();
+        }
+
+        List<Match> matches = new ArrayList<>();
+        String query = word.toLowerCase();
+        EditDistance distances = this.editDistance.get();
+        int[] pending = new int[Math.min(this.words.length, 64)];
+        int pendingCount = 0;
+        pending[pendingCount++] = 0;
+
+        while (pendingCount > 0) {
+            int node = pending[--pendingCount];
+            // children farther than the maximum from this distance can be pruned without knowing it exactly
+            int distance = distances.damerauLevenshtein(query, this.foldedWords[node],
+                    this.farthestChild[node] + this.maxEditDistance);
+
+            if (distance <= this.maxEditDistance) {
+                matches.add(new Match(this.words[node], distance));
+            }
+
+            for (int child = this.firstChild[node]; child != NO_NODE; child = this.nextSibling[child]) {
+                if (Math.abs(this.parentDistance[child] - distance) <= this.maxEditDistance) {
+                    if (pendingCount == pending.length) {
+                        pending = Arrays.copyOf(pending, pending.length * 2);
+                    }
+                    pending[pendingCount++] = child;
+                }
+            }
+        }
+
+        return matches.stream()
+                .sorted(Match.CLOSEST_FIRST)
+                .limit(suggestionsCount)
+                .map(Match::word)
+                .toList();
+    }
+
+    private void insert(int id, EditDistance distances) {
+        String folded = this.foldedWords[id];
+        int node = 0;
+
+        while (true) {
+            String parent = this.foldedWords[node];
+            int distance = distances.damerauLevenshtein(folded, parent, Math.max(folded.length(), parent.length()));
+            int child = this.childAt(node, distance);
+
+            if (child == NO_NODE) {
+                this.parentDistance[id] = distance;
+                this.nextSibling[id] = this.firstChild[node];
+                this.firstChild[node] = id;
+                this.farthestChild[node] = Math.max(this.farthestChild[node], distance);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    private int childAt(int node, int distance) {
+        for (int child = this.firstChild[node]; child != NO_NODE; child = this.nextSibling[child]) {
+            if (this.parentDistance[child] == distance) {
+                return child;
+            }
+        }
+
+        return NO_NODE;
+    }
+
+    private record Match(String word, int distance) {
+        private static final Comparator<Match> CLOSEST_FIRST =
+                Comparator.comparingInt(Match::distance).thenComparing(Match::word);
+    }
+}
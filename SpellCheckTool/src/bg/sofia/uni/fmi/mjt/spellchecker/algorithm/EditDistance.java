@@ -0,0 +1,133 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Damerau-Levenshtein distance: insertions, deletions, substitutions and transpositions of adjacent characters
+ * each cost one edit, and transposed characters may still be edited further, which makes the distance a metric.
+ * Only the cells at most {@code maxDistance} off the diagonal are computed, and the computation stops as soon as
+ * a whole row exceeds {@code maxDistance}. The buffers are reused from call to call, so an instance must not be
+ * shared between threads.
+ */
+public class EditDistance {
+    private static final int INITIAL_CAPACITY = 32;
+    private static final int NOT_SEEN = 0;
+    private int[] distances = new int[INITIAL_CAPACITY * INITIAL_CAPACITY];
+    private char[] symbols = new char[INITIAL_CAPACITY];
+    private int[] lastRows = new int[INITIAL_CAPACITY];
+    private int[] rowSymbols = new int[INITIAL_CAPACITY];
+    private int[] columnSymbols = new int[INITIAL_CAPACITY];
+
+    /**
+     * Returns the distance between {@code first} and {@code second}, or {@code maxDistance + 1} as soon as it is
+     * certain to exceed {@code maxDistance}.
+     */
+    public int damerauLevenshtein(CharSequence first, CharSequence second, int maxDistance) {
+        int rows = first.length();
+        int columns = second.length();
+        int exceeded = maxDistance + 1;
+
+        if (Math.abs(rows - columns) > maxDistance) {
+            return exceeded;
+        }
+
+        this.prepare(first, second);
+        int width = columns + 1;
+
+        for (int column = 0; column <= columns; column++) {
+            this.distances[column] = Math.min(column, exceeded);
+        }
+
+        for (int row = 1; row <= rows; row++) {
+            int from = Math.max(1, row - maxDistance);
+            int to = Math.min(columns, row + maxDistance);
+            int offset = row * width;
+            int lastMatchingColumn = NOT_SEEN;
+
+            this.distances[offset] = Math.min(row, exceeded);
+            this.distances[offset + from - 1] = from == 1 ? this.distances[offset] : exceeded;
+            int rowMinimum = from == 1 ? this.distances[offset] : exceeded;
+
+            for (int column = from; column <= to; column++) {
+                int symbol = this.columnSymbols[column];
+                int transposedRow = symbol < 0 ? NOT_SEEN : this.lastRows[symbol];
+                int transposedColumn = lastMatchingColumn;
+                int distance;
+
+                if (symbol >= 0 && symbol == this.rowSymbols[row]) {
+                    distance = this.distances[offset - width + column - 1];
+                    lastMatchingColumn = column;
+                } else {
+                    distance = 1 + Math.min(this.distances[offset - width + column - 1],
+                            Math.min(this.distances[offset + column - 1], this.distances[offset - width + column]));
+                }
+
+                // cells off the band are above the maximum anyway, so a transposition starting there is skipped
+                if (transposedRow != NOT_SEEN && transposedColumn != NOT_SEEN
+                        && Math.abs(transposedRow - transposedColumn) <= maxDistance) {
+                    distance = Math.min(distance, this.distances[(transposedRow - 1) * width + transposedColumn - 1]
+                            + (row - transposedRow) + (column - transposedColumn) - 1);
+                }
+
+                this.distances[offset + column] = Math.min(distance, exceeded);
+                rowMinimum = Math.min(rowMinimum, distance);
+            }
+
+            if (to < columns) {
+                this.distances[offset + to + 1] = exceeded;
+            }
+            if (rowMinimum > maxDistance) {
+                return exceeded;
+            }
+            if (this.rowSymbols[row] >= 0) {
+                this.lastRows[this.rowSymbols[row]] = row;
+            }
+        }
+
+        return Math.min(this.distances[rows * width + columns], exceeded);
+    }
+
+    private void prepare(CharSequence first, CharSequence second) {
+        int rows = first.length();
+        int columns = second.length();
+
+        if (this.distances.length < (rows + 1) * (columns + 1)) {
+            this.distances = new int[(rows + 1) * (columns + 1)];
+        }
+        if (this.symbols.length < rows + 1) {
+            this.symbols = new char[rows + 1];
+            this.lastRows = new int[rows + 1];
+            this.rowSymbols = new int[rows + 1];
+        }
+        if (this.columnSymbols.length < columns + 1) {
+            this.columnSymbols = new int[columns + 1];
+        }
+
+        // the characters of the first word get small indexes, so the last row of each is an array lookup
+        int distinct = 0;
+        for (int row = 1; row <= rows; row++) {
+            int symbol = this.indexOf(first.charAt(row - 1), distinct);
+
+            if (symbol < 0) {
+                symbol = distinct;
+                this.symbols[distinct++] = first.charAt(row - 1);
+            }
+            this.rowSymbols[row] = symbol;
+        }
+        Arrays.fill(this.lastRows, 0, distinct, NOT_SEEN);
+
+        for (int column = 1; column <= columns; column++) {
+            this.columnSymbols[column] = this.indexOf(second.charAt(column - 1), distinct);
+        }
+    }
+
+    private int indexOf(char symbol, int distinct) {
+        for (int index = 0; index < distinct; index++) {
+            if (this.symbols[index] == symbol) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,11 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.algorithm;
+
+import java.util.Comparator;
+
+record ScoredWord(int id, double similarity) {
+    static final Comparator<ScoredWord> BEST_FIRST =
+            Comparator.comparingDouble(ScoredWord::similarity).reversed()
+                    .thenComparingInt(ScoredWord::id);
+
+    static final Comparator<ScoredWord> WORST_FIRST = BEST_FIRST.reversed();
+}
@@ -0,0 +1,15 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.algorithm;
+
+import java.util.List;
+
+/**
+ * Finds the dictionary words closest to a possibly misspelled word.
+ * Implementations are immutable after construction and safe to query from many threads.
+ */
+public interface SuggestionEngine {
+
+    /**
+     * Returns at most {@code suggestionsCount} dictionary words, closest to {@code word} first.
+     */
+    List<String> getClosestWords(String word, int suggestionsCount);
+}
@@ -0,0 +1,156 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.algorithm;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Suggests the dictionary words within {@code maxEditDistance} Damerau-Levenshtein edits of the queried word,
+ * closest first and alphabetically among equally close ones.
+ * Every word is indexed under all strings obtained by deleting up to {@code maxEditDistance} characters from its
+ * first {@code prefixLength} characters. A query generates the deletes of its own prefix and verifies the words
+ * found under them, so a lookup costs a bounded number of hash probes whatever the size of the dictionary.
+ * Fewer words than requested are returned when not enough of them are close enough.
+ */
+public class SymmetricDeleteEngine implements SuggestionEngine {
+    private static final int DEFAULT_MAX_EDIT_DISTANCE = 2;
+    private static final int DEFAULT_PREFIX_LENGTH = 7;
+    private static final int[] NO_IDS = new int[0];
+    private static final String KEYWORD_PREFIX_TOO_SHORT = "prefixLength must be greater than maxEditDistance";
+    private final String[] words;
+    private final String[] foldedWords;
+    private final Map<String, int[]> deletes;
+    private final ThreadLocal<EditDistance> editDistance = ThreadLocal.withInitial(EditDistance::new);
+    private final int maxEditDistance;
+    private final int prefixLength;
+
+    public SymmetricDeleteEngine(List<String> dictionaryWords) {
+        this(dictionaryWords, DEFAULT_MAX_EDIT_DISTANCE);
+    }
+
+    public SymmetricDeleteEngine(List<String> dictionaryWords, int maxEditDistance) {
+        this(dictionaryWords, maxEditDistance, DEFAULT_PREFIX_LENGTH);
+    }
+
+    public SymmetricDeleteEngine(List<String> dictionaryWords, int maxEditDistance, int prefixLength) {
+        Validator.validateNotNull(dictionaryWords, "dictionaryWords");
+        Validator.validatePositive(maxEditDistance);
+        if (prefixLength <= maxEditDistance) {
+            throw new IllegalArgumentException(KEYWORD_PREFIX_TOO_SHORT);
+        }
+
+        this.words = dictionaryWords.toArray(new String[0]);
+        this.foldedWords = new String[this.words.length];
+        this.maxEditDistance = maxEditDistance;
+        this.prefixLength = prefixLength;
+
+        Map<String, int[]> growingDeletes = new HashMap<>();
+        for (int id = 0; id < this.words.length; id++) {
+            this.foldedWords[id] = this.words[id].toLowerCase();
+
+            for (String delete : this.generateDeletes(this.prefixOf(this.foldedWords[id]))) {
+                growingDeletes.merge(delete, new int[] {1, id}, SymmetricDeleteEngine::append);
+            }
+        }
+
+        // every list was built as {size, ids...} with spare capacity
+        growingDeletes.replaceAll((delete, ids) -> Arrays.copyOfRange(ids, 1, ids[0] + 1));
+        this.deletes = growingDeletes;
+    }
+
+    @Override
+    public List<String> getClosestWords(String word, int suggestionsCount) {
+        Validator.validateNotNull(word, "word");
+        Validator.validatePositive(suggestionsCount);
+
+        String query = word.toLowerCase();
+        String queryPrefix = this.prefixOf(query);
+        List<Match> matches = new ArrayList<>();
+        EditDistance distances = this.editDistance.get();
+        BitSet checked = new BitSet(this.words.length);
+        Set<String> visited = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        visited.add(queryPrefix);
+        pending.add(queryPrefix);
+
+        while (!pending.isEmpty()) {
+            String candidate = pending.poll();
+
+            for (int id : this.deletes.getOrDefault(candidate, NO_IDS)) {
+                if (!checked.get(id)) {
+                    checked.set(id);
+
+                    int distance = distances.damerauLevenshtein(query, this.foldedWords[id], this.maxEditDistance);
+                    if (distance <= this.maxEditDistance) {
+                        matches.add(new Match(this.words[id], distance));
+                    }
+                }
+            }
+
+            if (queryPrefix.length() - candidate.length() < this.maxEditDistance) {
+                for (int index = 0; index < candidate.length(); index++) {
+                    String delete = candidate.substring(0, index) + candidate.substring(index + 1);
+
+                    if (visited.add(delete)) {
+                        pending.add(delete);
+                    }
+                }
+            }
+        }
+
+        return matches.stream()
+                .sorted(Match.CLOSEST_FIRST)
+                .limit(suggestionsCount)
+                .map(Match::word)
+                .toList();
+    }
+
+    private String prefixOf(String word) {
+        return word.length() > this.prefixLength ? word.substring(0, this.prefixLength) : word;
+    }
+
+    private Set<String> generateDeletes(String word) {
+        Set<String> generated = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        generated.add(word);
+        pending.add(word);
+
+        while (!pending.isEmpty()) {
+            String current = pending.poll();
+
+            if (word.length() - current.length() < this.maxEditDistance) {
+                for (int index = 0; index < current.length(); index++) {
+                    String delete = current.substring(0, index) + current.substring(index + 1);
+
+                    if (generated.add(delete)) {
+                        pending.add(delete);
+                    }
+                }
+            }
+        }
+
+        return generated;
+    }
+
+    private static int[] append(int[] ids, int[] added) {
+        int[] result = ids[0] + 1 < ids.length ? ids : Arrays.copyOf(ids, ids.length * 2);
+        result[++result[0]] = added[1];
+
+        return result;
+    }
+
+    private record Match(String word, int distance) {
+        private static final Comparator<Match> CLOSEST_FIRST =
+                Comparator.comparingInt(Match::distance).thenComparing(Match::word);
+    }
+}
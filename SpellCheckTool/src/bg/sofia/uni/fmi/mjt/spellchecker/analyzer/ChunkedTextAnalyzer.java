@@ -0,0 +1,198 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.analyzer;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.Metadata;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.findings.FindingsBuffer;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Lexicon;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.SymbolTable;
+import bg.sofia.uni.fmi.mjt.spellchecker.metrics.PipelineListener;
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Analyzes a document in line-aligned chunks on an executor.
+ * Lines are copied into chunks of about {@code chunkSize} characters, every chunk is analyzed by its own
+ * {@link LinesAnalyzer} with the document-wide numbers of its lines, and finished chunks are merged in
+ * document order, so counts and findings are exactly those of a sequential {@link TextAnalyzer}.
+ * Only a couple of chunks per core are in flight at a time, whatever the size of the document.
+ * With {@code recordFindings} off the chunks only count, as for metadata no finding is ever needed.
+ */
+public class ChunkedTextAnalyzer extends TextAnalyzer {
+    private static final int FIRST_LINE_NUMBER = 1;
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+    private static final int CHUNKS_IN_FLIGHT_PER_CORE = 2;
+    private final Lexicon lexicon;
+    private final SymbolTable metatextSymbols;
+    private final Executor chunkExecutor;
+    private final PipelineListener listener;
+    private final boolean recordFindings;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+    private final Deque<CompletableFuture<LinesAnalyzer>> pendingChunks;
+    private Chunk chunk;
+
+    public ChunkedTextAnalyzer(Lexicon lexicon, SymbolTable metatextSymbols, Executor chunkExecutor) {
+        this(lexicon, metatextSymbols, chunkExecutor, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ChunkedTextAnalyzer(Lexicon lexicon, SymbolTable metatextSymbols, Executor chunkExecutor, int chunkSize) {
+        this(lexicon, metatextSymbols, chunkExecutor, chunkSize, PipelineListener.NONE);
+    }
+
+    public ChunkedTextAnalyzer(Lexicon lexicon, SymbolTable metatextSymbols, Executor chunkExecutor,
+                               PipelineListener listener) {
+        this(lexicon, metatextSymbols, chunkExecutor, DEFAULT_CHUNK_SIZE, listener);
+    }
+
+    public ChunkedTextAnalyzer(Lexicon lexicon, SymbolTable metatextSymbols, Executor chunkExecutor, int chunkSize,
+                               PipelineListener listener) {
+        this(lexicon, metatextSymbols, chunkExecutor, chunkSize, true, listener);
+    }
+
+    public ChunkedTextAnalyzer(Lexicon lexicon, SymbolTable metatextSymbols, Executor chunkExecutor,
+                               boolean recordFindings, PipelineListener listener) {
+        this(lexicon, metatextSymbols, chunkExecutor, DEFAULT_CHUNK_SIZE, recordFindings, listener);
+    }
+
+    public ChunkedTextAnalyzer(Lexicon lexicon, SymbolTable metatextSymbols, Executor chunkExecutor, int chunkSize,
+                               boolean recordFindings, PipelineListener listener) {
+        super(lexicon, metatextSymbols, listener);
+        Validator.validateNotNull(chunkExecutor, "chunkExecutor");
+        Validator.validatePositive(chunkSize);
+
+        this.lexicon = lexicon;
+        this.metatextSymbols = metatextSymbols;
+        this.chunkExecutor = chunkExecutor;
+        this.listener = listener;
+        this.recordFindings = recordFindings;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.maxChunksInFlight = CHUNKS_IN_FLIGHT_PER_CORE * Runtime.getRuntime().availableProcessors();
+        this.pendingChunks = new ArrayDeque<>();
+        this.chunk = new Chunk(FIRST_LINE_NUMBER, this.chunkSize);
+    }
+
+    @Override
+    public void analyzeLine(char[] line, int start, int end) {
+        Validator.validateNotNull(line, "line");
+
+        if (this.chunk.length > 0 && this.chunk.length + end - start > this.chunkSize) {
+            this.submitChunk();
+        }
+
+        this.chunk.add(line, start, end);
+    }
+
+    @Override
+    public Metadata collectMetadata() {
+        this.mergeChunks();
+
+        return super.collectMetadata();
+    }
+
+    @Override
+    public FindingsBuffer getProblemLines() {
+        this.mergeChunks();
+
+        return super.getProblemLines();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            while (!this.pendingChunks.isEmpty()) {
+                CompletableFuture<LinesAnalyzer> pending = this.pendingChunks.poll();
+
+                if (!pending.isCompletedExceptionally()) {
+                    pending.join().extractProblemLines().close();
+                }
+            }
+        } finally {
+            super.close();
+        }
+    }
+
+    private void submitChunk() {
+        if (this.pendingChunks.size() == this.maxChunksInFlight) {
+            this.mergeChunk(this.pendingChunks.poll());
+        }
+
+        Chunk submitted = this.chunk;
+        this.pendingChunks.add(CompletableFuture.supplyAsync(
+                () -> submitted.analyze(this.lexicon, this.metatextSymbols, this.recordFindings, this.listener),
+                this.chunkExecutor));
+        this.chunk = new Chunk(submitted.firstLineNumber + submitted.lines, this.chunkSize);
+    }
+
+    private void mergeChunks() {
+        if (this.chunk.lines > 0) {
+            this.submitChunk();
+        }
+
+        while (!this.pendingChunks.isEmpty()) {
+            this.mergeChunk(this.pendingChunks.poll());
+        }
+    }
+
+    private void mergeChunk(CompletableFuture<LinesAnalyzer> pending) {
+        LinesAnalyzer chunkAnalyzer = pending.join();
+
+        try {
+            this.merge(chunkAnalyzer);
+            chunkAnalyzer.extractProblemLines().close();
+        } catch (IOException e) {
+            throw new RuntimeException();
+        }
+    }
+
+    private static class Chunk {
+        private static final int INITIAL_TEXT_CAPACITY = 8192;
+        private static final int INITIAL_LINES_CAPACITY = 64;
+        private final int firstLineNumber;
+        private char[] text;
+        private int length;
+        private int[] lineEnds;
+        private int lines;
+
+        private Chunk(int firstLineNumber, int expectedLength) {
+            this.firstLineNumber = firstLineNumber;
+            this.text = new char[Math.min(expectedLength, INITIAL_TEXT_CAPACITY)];
+            this.lineEnds = new int[INITIAL_LINES_CAPACITY];
+        }
+
+        private void add(char[] line, int start, int end) {
+            if (this.length + end - start > this.text.length) {
+                this.text = Arrays.copyOf(this.text, Math.max(this.text.length * 2, this.length + end - start));
+            }
+            if (this.lines == this.lineEnds.length) {
+                this.lineEnds = Arrays.copyOf(this.lineEnds, this.lines * 2);
+            }
+
+            System.arraycopy(line, start, this.text, this.length, end - start);
+            this.length += end - start;
+            this.lineEnds[this.lines++] = this.length;
+        }
+
+        private LinesAnalyzer analyze(Lexicon lexicon, SymbolTable metatextSymbols, boolean recordFindings,
+                                      PipelineListener listener) {
+            LinesAnalyzer linesAnalyzer = new LinesAnalyzer(lexicon, metatextSymbols, recordFindings, listener);
+            int lineStart = 0;
+
+            for (int line = 0; line < this.lines; line++) {
+                long startNanos = listener == PipelineListener.NONE ? 0 : System.nanoTime();
+                linesAnalyzer.analyze(this.firstLineNumber + line, this.text, lineStart, this.lineEnds[line]);
+
+                if (listener != PipelineListener.NONE) {
+                    listener.lineAnalyzed(this.lineEnds[line] - lineStart, System.nanoTime() - startNanos);
+                }
+                lineStart = this.lineEnds[line];
+            }
+
+            return linesAnalyzer;
+        }
+    }
+}
@@ -1,34 +1,47 @@
 package bg.sofia.uni.fmi.mjt.spellchecker.analyzer;
 
 import bg.sofia.uni.fmi.mjt.spellchecker.Metadata;
-import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Dictionary;
-import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.StopWords;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.findings.FindingsBuffer;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Lexicon;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.SymbolTable;
 import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.metadata.MetadataContainer;
 import bg.sofia.uni.fmi.mjt.spellchecker.enums.WordType;
+import bg.sofia.uni.fmi.mjt.spellchecker.metrics.PipelineListener;
 import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-
 public class LinesAnalyzer {
-    private static final String SPACE_REGEX = "\\s{2,}";
-    private final Set<Character> metatextSymbols;
+    private static final char SPACE = ' ';
+    private static final int NO_WORD = -1;
+    private static final long WHITESPACE_MASK = 1L << ' ' | 1L << '\t' | 1L << '\n' | 1L << '\u000B'
+            | 1L << '\f' | 1L << '\r';
+    private final SymbolTable metatextSymbols;
     private final WordsAnalyzer wordsAnalyzer;
     private final MetadataContainer metadataContainer;
-    private Map<Integer, List<String>> problemLines;
+    private final FindingsBuffer problemLines;
+    private final boolean recordFindings;
+
+    public LinesAnalyzer(Lexicon lexicon, SymbolTable metatextSymbols) {
+        this(lexicon, metatextSymbols, true);
+    }
+
+    /**
+     * With {@code recordFindings} off misspelled words are only counted and never copied out of the line,
+     * so the analyzer keeps no state per word.
+     */
+    public LinesAnalyzer(Lexicon lexicon, SymbolTable metatextSymbols, boolean recordFindings) {
+        this(lexicon, metatextSymbols, recordFindings, PipelineListener.NONE);
+    }
 
-    public LinesAnalyzer(Dictionary dictionary, StopWords stopWords, Set<Character> metatextSymbols) {
-        this.wordsAnalyzer = new WordsAnalyzer(dictionary, stopWords);
+    public LinesAnalyzer(Lexicon lexicon, SymbolTable metatextSymbols, boolean recordFindings,
+                         PipelineListener listener) {
+        this.wordsAnalyzer = new WordsAnalyzer(lexicon, listener);
         this.metadataContainer = new MetadataContainer();
-        this.problemLines = new LinkedHashMap<>();
+        this.problemLines = new FindingsBuffer();
         this.metatextSymbols = metatextSymbols;
+        this.recordFindings = recordFindings;
     }
 
-    public Map<Integer, List<String>> extractProblemLines() {
+    public FindingsBuffer extractProblemLines() {
         return this.problemLines;
     }
 
@@ -40,81 +53,98 @@ public class LinesAnalyzer {
         return new Metadata(characters, words, mistakes);
     }
 
+    /**
+     * Adds the counts and findings of {@code other}, which analyzed the lines following the ones seen so far.
+     */
+    public void merge(LinesAnalyzer other) {
+        Validator.validateNotNull(other, "other");
+
+        this.metadataContainer.addAll(other.metadataContainer);
+        this.problemLines.addAll(other.problemLines);
+    }
+
     public void analyze(int lineNumber, String line) {
         Validator.validateNotNull(line, "line");
-        Validator.validatePositive(lineNumber);
-
-        line = this.reformLineSpaces(line);
-        String[] rawWords = line.split(" ");
 
-        for (String w : rawWords) {
-            this.metadataContainer.addCharacters(w.length());
-        }
+        this.analyze(lineNumber, line.toCharArray(), 0, line.length());
+    }
 
-        List<String> analyzableWords = this.extractPossibleWords(rawWords);
+    /**
+     * Counts and classifies the words of {@code line[start, end)} in a single pass.
+     * Runs of two or more whitespace characters and single spaces separate character sequences,
+     * while leading and trailing control characters are ignored, exactly as collapsing the whitespace,
+     * trimming and splitting the line on spaces would.
+     */
+    public void analyze(int lineNumber, char[] line, int start, int end) {
+        Validator.validateNotNull(line, "line");
+        Validator.validatePositive(lineNumber);
 
-        for (String word : analyzableWords) {
-            this.interfere(lineNumber, word, this.getWordType(word));
+        while (start < end && line[start] <= SPACE) {
+            start++;
         }
-    }
-
-    private void interfere(int lineNumber, String word, WordType type) {
-        if (type == WordType.WRONG_WORD) {
-            if (this.problemLines.containsKey(lineNumber)) {
-                this.problemLines.get(lineNumber).add(word);
-            } else {
-                List<String> wrongWords = new ArrayList<>();
-                wrongWords.add(word);
-                this.problemLines.put(lineNumber, wrongWords);
-            }
-            this.metadataContainer.addAnotherMistake();
+        while (end > start && line[end - 1] <= SPACE) {
+            end--;
         }
 
-        if (type != WordType.STOP_WORD) {
-            this.metadataContainer.addAnotherWord();
-        }
-    }
+        int characters = 0;
+        int wordStart = NO_WORD;
+        int index = start;
 
+        while (index < end) {
+            char symbol = line[index];
 
-    private WordType getWordType(String word) {
-        return this.wordsAnalyzer.getWordType(word);
-    }
+            if (this.isWhitespace(symbol)) {
+                int runEnd = index + 1;
+                while (runEnd < end && this.isWhitespace(line[runEnd])) {
+                    runEnd++;
+                }
 
-    private List<String> extractPossibleWords(String[] characterSequences) {
-        List<String> actualWords = new LinkedList<>();
-        int index = 0;
-        int increment = 1;
+                if (symbol == SPACE || runEnd - index > 1) {
+                    this.closeWord(lineNumber, line, wordStart, index);
+                    wordStart = NO_WORD;
+                    index = runEnd;
+                    continue;
+                }
+            }
 
-        for (String currentSequence : characterSequences) {
-            while (index < currentSequence.length()) {
-                if (this.metatextSymbols.contains(currentSequence.charAt(index))) {
-                    String word = this.extractWord(currentSequence.substring(index));
+            characters++;
 
-                    actualWords.add(word);
-                    increment = word.length();
+            if (this.metatextSymbols.isSymbol(symbol)) {
+                if (wordStart == NO_WORD) {
+                    wordStart = index;
                 }
-                index += increment;
-                increment = 1;
+            } else {
+                this.closeWord(lineNumber, line, wordStart, index);
+                wordStart = NO_WORD;
             }
-            index = 0;
+            index++;
         }
 
-        return actualWords;
+        this.closeWord(lineNumber, line, wordStart, end);
+        this.metadataContainer.addCharacters(characters);
     }
 
-    private String extractWord(String word) {
-        StringBuilder foundWord = new StringBuilder();
-        int index = 0;
+    private void closeWord(int lineNumber, char[] line, int wordStart, int wordEnd) {
+        if (wordStart != NO_WORD) {
+            this.interfere(lineNumber, line, wordStart, wordEnd,
+                    this.wordsAnalyzer.getWordType(line, wordStart, wordEnd));
+        }
+    }
 
-        while (index < word.length() && this.metatextSymbols.contains(word.charAt(index))) {
-            foundWord.append(word.charAt(index));
-            index++;
+    private void interfere(int lineNumber, char[] line, int wordStart, int wordEnd, WordType type) {
+        if (type == WordType.WRONG_WORD) {
+            if (this.recordFindings) {
+                this.problemLines.add(lineNumber, new String(line, wordStart, wordEnd - wordStart));
+            }
+            this.metadataContainer.addAnotherMistake();
         }
 
-        return foundWord.toString();
+        if (type != WordType.STOP_WORD) {
+            this.metadataContainer.addAnotherWord();
+        }
     }
 
-    private String reformLineSpaces(String line) {
-        return line.replaceAll(SPACE_REGEX, " ").trim();
+    private boolean isWhitespace(char symbol) {
+        return symbol <= SPACE && (WHITESPACE_MASK & 1L << symbol) != 0;
     }
 }
@@ -0,0 +1,61 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.analyzer;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.Metadata;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Lexicon;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.SymbolTable;
+import bg.sofia.uni.fmi.mjt.spellchecker.metrics.PipelineListener;
+import bg.sofia.uni.fmi.mjt.spellchecker.tokenizer.LineTokenizer;
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Counts the characters, words and mistakes of a document and nothing else.
+ * Words are classified in place in the line buffer and misspelled ones are never copied or collected,
+ * so a document of any size is counted in the memory of its longest line.
+ */
+public class MetadataCounter {
+    private static final int FIRST_LINE_NUMBER = 1;
+    private final Lexicon lexicon;
+    private final SymbolTable metatextSymbols;
+    private final PipelineListener listener;
+
+    public MetadataCounter(Lexicon lexicon, SymbolTable metatextSymbols) {
+        this(lexicon, metatextSymbols, PipelineListener.NONE);
+    }
+
+    public MetadataCounter(Lexicon lexicon, SymbolTable metatextSymbols, PipelineListener listener) {
+        Validator.validateNotNull(lexicon, "lexicon");
+        Validator.validateNotNull(metatextSymbols, "metatextSymbols");
+        Validator.validateNotNull(listener, "listener");
+
+        this.lexicon = lexicon;
+        this.metatextSymbols = metatextSymbols;
+        this.listener = listener;
+    }
+
+    public Metadata count(Reader textReader) {
+        Validator.validateNotNull(textReader, "textReader");
+
+        LinesAnalyzer linesAnalyzer = new LinesAnalyzer(this.lexicon, this.metatextSymbols, false, this.listener);
+
+        try (var tokenizer = new LineTokenizer(textReader)) {
+            while (tokenizer.nextLine()) {
+                long startNanos = this.listener == PipelineListener.NONE ? 0 : System.nanoTime();
+                // no findings are recorded, so line numbers do not matter and cannot overflow on huge inputs
+                linesAnalyzer.analyze(FIRST_LINE_NUMBER, tokenizer.getBuffer(), tokenizer.getLineStart(),
+                        tokenizer.getLineEnd());
+
+                if (this.listener != PipelineListener.NONE) {
+                    this.listener.lineAnalyzed(tokenizer.getLineEnd() - tokenizer.getLineStart(),
+                            System.nanoTime() - startNanos);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException();
+        }
+
+        return linesAnalyzer.extractCollectedMetadata();
+    }
+}
@@ -1,39 +1,69 @@
 package bg.sofia.uni.fmi.mjt.spellchecker.analyzer;
 
 import bg.sofia.uni.fmi.mjt.spellchecker.Metadata;
-import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Dictionary;
-import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.StopWords;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.findings.FindingsBuffer;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Lexicon;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.SymbolTable;
+import bg.sofia.uni.fmi.mjt.spellchecker.metrics.PipelineListener;
 import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.io.Closeable;
+import java.io.IOException;
 
-public class TextAnalyzer {
+public class TextAnalyzer implements Closeable {
     private final LinesAnalyzer linesAnalyzer;
+    private final PipelineListener listener;
     private static final int FIRST_LINE_NUMBER = 1;
     private int currentLineNumber = FIRST_LINE_NUMBER;
 
-    public TextAnalyzer(Dictionary dictionary, StopWords stopWords, Set<Character> metatextSymbols) {
-        this.linesAnalyzer = new LinesAnalyzer(dictionary, stopWords, metatextSymbols);
+    public TextAnalyzer(Lexicon lexicon, SymbolTable metatextSymbols) {
+        this(lexicon, metatextSymbols, PipelineListener.NONE);
+    }
+
+    public TextAnalyzer(Lexicon lexicon, SymbolTable metatextSymbols, PipelineListener listener) {
+        Validator.validateNotNull(listener, "listener");
+
+        this.linesAnalyzer = new LinesAnalyzer(lexicon, metatextSymbols, true, listener);
+        this.listener = listener;
     }
 
     public void analyzeLine(String line) {
         Validator.validateNotNull(line, "line");
 
-        this.linesAnalyzer.analyze(currentLineNumber, line);
+        this.analyzeLine(line.toCharArray(), 0, line.length());
+    }
+
+    public void analyzeLine(char[] line, int start, int end) {
+        Validator.validateNotNull(line, "line");
+
+        if (this.listener == PipelineListener.NONE) {
+            this.linesAnalyzer.analyze(currentLineNumber, line, start, end);
+        } else {
+            long startNanos = System.nanoTime();
+            this.linesAnalyzer.analyze(currentLineNumber, line, start, end);
+            this.listener.lineAnalyzed(end - start, System.nanoTime() - startNanos);
+        }
         this.currentLineNumber++;
     }
 
+    protected void merge(LinesAnalyzer linesAnalyzer) {
+        this.linesAnalyzer.merge(linesAnalyzer);
+    }
+
     public Metadata collectMetadata() {
         return this.linesAnalyzer.extractCollectedMetadata();
     }
 
-    public Map<Integer, List<String>> getProblemLines() {
+    public FindingsBuffer getProblemLines() {
         return this.linesAnalyzer.extractProblemLines();
     }
 
     public boolean foundProblemLines() {
-        return this.getProblemLines().size() > 0;
+        return !this.getProblemLines().isEmpty();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.getProblemLines().close();
     }
 }
\ No newline at end of file
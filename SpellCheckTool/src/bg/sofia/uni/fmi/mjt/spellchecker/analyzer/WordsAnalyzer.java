@@ -1,38 +1,42 @@
 package bg.sofia.uni.fmi.mjt.spellchecker.analyzer;
 
-import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Dictionary;
-import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.StopWords;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Lexicon;
 import bg.sofia.uni.fmi.mjt.spellchecker.enums.WordType;
+import bg.sofia.uni.fmi.mjt.spellchecker.metrics.PipelineListener;
 import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
 
 public class WordsAnalyzer {
-    private final Dictionary dictionary;
-    private final StopWords stopWords;
+    private final Lexicon lexicon;
+    private final PipelineListener listener;
 
-    public WordsAnalyzer(Dictionary dictionary, StopWords stopWords) {
-        this.dictionary = dictionary;
-        this.stopWords = stopWords;
+    public WordsAnalyzer(Lexicon lexicon) {
+        this(lexicon, PipelineListener.NONE);
+    }
+
+    public WordsAnalyzer(Lexicon lexicon, PipelineListener listener) {
+        Validator.validateNotNull(listener, "listener");
+
+        this.lexicon = lexicon;
+        this.listener = listener;
     }
 
     public WordType getWordType(String word) {
         Validator.validateNotNull(word, "word");
 
-        boolean isDictionaryWord =
-                this.dictionary.dictionaryWords().stream()
-                        .anyMatch(l -> word.compareToIgnoreCase(l) == 0);
-
-        if (isDictionaryWord) {
-            return WordType.DICTIONARY_WORD;
-        }
+        return this.lexicon.getWordType(word);
+    }
 
-        boolean isStopWord =
-                this.stopWords.stopWords().stream()
-                        .anyMatch(l -> word.compareToIgnoreCase(l) == 0);
+    public WordType getWordType(char[] text, int start, int end) {
+        Validator.validateNotNull(text, "text");
 
-        if (isStopWord) {
-            return WordType.STOP_WORD;
+        if (this.listener == PipelineListener.NONE) {
+            return this.lexicon.getWordType(text, start, end);
         }
 
-        return WordType.WRONG_WORD;
+        long startNanos = System.nanoTime();
+        WordType type = this.lexicon.getWordType(text, start, end);
+        this.listener.wordClassified(type, System.nanoTime() - startNanos);
+
+        return type;
     }
 }
@@ -0,0 +1,3 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.analyzer.findings;
+
+public record Finding(int lineNumber, String word) { }
@@ -0,0 +1,200 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.analyzer.findings;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Misspelled words of a document in order of appearance.
+ * Up to {@code memoryLimit} findings are kept on the heap; once the limit is reached they are spilled
+ * to a temporary file, so memory use does not grow with the size of the document.
+ * Closing the buffer also closes the spill file of iterators left unfinished, iterating on after that fails.
+ */
+public class FindingsBuffer implements Iterable<Finding>, Closeable {
+    private static final int DEFAULT_MEMORY_LIMIT = 16_384;
+    private static final String SPILL_FILE_PREFIX = "spellchecker-findings";
+    private static final String SPILL_FILE_SUFFIX = ".bin";
+    private final int memoryLimit;
+    private final List<Finding> pending;
+    private final List<SpilledIterator> openIterators;
+    private Path spillFile;
+    private DataOutputStream spillOutput;
+    private long size;
+
+    public FindingsBuffer() {
+        this(DEFAULT_MEMORY_LIMIT);
+    }
+
+    public FindingsBuffer(int memoryLimit) {
+        Validator.validatePositive(memoryLimit);
+
+        this.memoryLimit = Math.max(memoryLimit, 1);
+        this.pending = new ArrayList<>();
+        this.openIterators = new ArrayList<>();
+    }
+
+    public void add(int lineNumber, String word) {
+        Validator.validateNotNull(word, "word");
+
+        if (this.pending.size() == this.memoryLimit) {
+            this.spill();
+        }
+
+        this.pending.add(new Finding(lineNumber, word));
+        this.size++;
+    }
+
+    public void addAll(Iterable<Finding> findings) {
+        Validator.validateNotNull(findings, "findings");
+
+        for (Finding finding : findings) {
+            this.add(finding.lineNumber(), finding.word());
+        }
+    }
+
+    public long size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public Iterator<Finding> iterator() {
+        if (this.spillFile == null) {
+            return this.pending.iterator();
+        }
+
+        try {
+            this.spillOutput.flush();
+            SpilledIterator iterator = new SpilledIterator(new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(this.spillFile))), this.pending.iterator(),
+                    this.openIterators);
+            this.openIterators.add(iterator);
+            iterator.readFirst();
+
+            return iterator;
+        } catch (IOException e) {
+            throw new RuntimeException();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.pending.clear();
+
+        if (this.spillFile != null) {
+            try {
+                // an open stream keeps the file from being deleted on some systems
+                for (SpilledIterator iterator : List.copyOf(this.openIterators)) {
+                    iterator.closeSpilled();
+                }
+                this.spillOutput.close();
+            } finally {
+                Files.deleteIfExists(this.spillFile);
+                this.spillFile = null;
+            }
+        }
+    }
+
+    private void spill() {
+        try {
+            if (this.spillFile == null) {
+                this.spillFile = Files.createTempFile(SPILL_FILE_PREFIX, SPILL_FILE_SUFFIX);
+                this.spillOutput =
+                        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(this.spillFile)));
+            }
+
+            for (Finding finding : this.pending) {
+                this.spillOutput.writeInt(finding.lineNumber());
+                this.spillOutput.writeInt(finding.word().length());
+                this.spillOutput.writeChars(finding.word());
+            }
+            this.pending.clear();
+        } catch (IOException e) {
+            throw new RuntimeException();
+        }
+    }
+
+    private static class SpilledIterator implements Iterator<Finding> {
+        private final DataInputStream spilled;
+        private final Iterator<Finding> pending;
+        private final List<SpilledIterator> openIterators;
+        private boolean spilledExhausted;
+        private Finding next;
+
+        private SpilledIterator(DataInputStream spilled, Iterator<Finding> pending,
+                                List<SpilledIterator> openIterators) {
+            this.spilled = spilled;
+            this.pending = pending;
+            this.openIterators = openIterators;
+        }
+
+        private void readFirst() {
+            this.next = this.readNext();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null;
+        }
+
+        @Override
+        public Finding next() {
+            if (this.next == null) {
+                throw new NoSuchElementException();
+            }
+
+            Finding current = this.next;
+            this.next = this.readNext();
+            return current;
+        }
+
+        private Finding readNext() {
+            if (!this.spilledExhausted) {
+                try {
+                    int lineNumber = this.spilled.readInt();
+                    char[] word = new char[this.spilled.readInt()];
+                    for (int index = 0; index < word.length; index++) {
+                        word[index] = this.spilled.readChar();
+                    }
+
+                    return new Finding(lineNumber, new String(word));
+                } catch (EOFException e) {
+                    this.spilledExhausted = true;
+                    this.closeSpilled();
+                } catch (IOException e) {
+                    this.closeSpilled();
+                    throw new RuntimeException();
+                }
+            }
+
+            return this.pending.hasNext() ? this.pending.next() : null;
+        }
+
+        private void closeSpilled() {
+            if (!this.openIterators.remove(this)) {
+                return;
+            }
+
+            try {
+                this.spilled.close();
+            } catch (IOException e) {
+                throw new RuntimeException();
+            }
+        }
+    }
+}
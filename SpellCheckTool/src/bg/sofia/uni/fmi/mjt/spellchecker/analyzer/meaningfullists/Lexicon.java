@@ -0,0 +1,442 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.enums.WordType;
+import bg.sofia.uni.fmi.mjt.spellchecker.snapshot.SnapshotInput;
+import bg.sofia.uni.fmi.mjt.spellchecker.snapshot.SnapshotOutput;
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Case-insensitive index of the dictionary and stop words.
+ * Keys are stored case-folded in a minimal {@link WordAutomaton}, so words share the states of their common prefixes
+ * and suffixes, and a lookup walks the characters of the queried word in place and never allocates.
+ * Two words are considered equal exactly when {@link String#compareToIgnoreCase} says so.
+ * Every key also counts the distinct dictionary spellings folded into it and remembers whether it is a stop word,
+ * so {@link #withWords} and {@link #withoutWords} can derive an updated copy without re-folding the other words.
+ * Updates do not touch the automaton: the keys they change go to a small {@link Delta} that lookups check first,
+ * and only once it outgrows {@link #DELTA_LIMIT} keys, or when the lexicon is written, is it merged into a new
+ * automaton. {@link #offHeap} moves the automaton to direct memory; merged automata are stored the same way again.
+ */
+public class Lexicon {
+    private static final int STOP_WORD_FLAG = 1;
+    private static final int SPELLINGS_SHIFT = 1;
+    private static final int DELTA_LIMIT = 4096;
+    private final WordAutomaton words;
+    private final Delta delta;
+
+    public Lexicon(Dictionary dictionary, StopWords stopWords) {
+        this(build(dictionary, stopWords), Delta.EMPTY);
+    }
+
+    private Lexicon(WordAutomaton words, Delta delta) {
+        this.words = words;
+        this.delta = delta;
+    }
+
+    public static Lexicon readFrom(SnapshotInput input) {
+        return readFrom(input, false);
+    }
+
+    /**
+     * Reads a lexicon written by {@link #writeTo}, straight into direct memory if {@code direct}.
+     */
+    public static Lexicon readFrom(SnapshotInput input, boolean direct) {
+        Validator.validateNotNull(input, "input");
+
+        return new Lexicon(WordAutomaton.readFrom(input, direct), Delta.EMPTY);
+    }
+
+    /**
+     * Writes the automaton with the pending updates merged into it.
+     */
+    public void writeTo(SnapshotOutput output) throws IOException {
+        Validator.validateNotNull(output, "output");
+
+        this.merged().writeTo(output);
+    }
+
+    /**
+     * Returns this lexicon if it is already kept in direct memory, otherwise a copy that is.
+     */
+    public Lexicon offHeap() {
+        if (this.isOffHeap()) {
+            return this;
+        }
+
+        return new Lexicon(this.words.copy(true), this.delta);
+    }
+
+    public boolean isOffHeap() {
+        return this.words.isDirect();
+    }
+
+    /**
+     * Returns the number of bytes the automaton of the lexicon and its pending updates take up.
+     */
+    public long getFootprintBytes() {
+        return this.words.getFootprintBytes() + this.delta.getFootprintBytes();
+    }
+
+    /**
+     * Returns a copy that also knows {@code dictionaryWords}, which must be spellings this lexicon has not been
+     * given yet, for example because they are missing from the bigram index.
+     */
+    public Lexicon withWords(List<String> dictionaryWords) {
+        Validator.validateNotNull(dictionaryWords, "dictionaryWords");
+
+        return this.withChanges(dictionaryWords, 1);
+    }
+
+    /**
+     * Returns a copy that no longer knows {@code dictionaryWords}, which must be spellings this lexicon has been
+     * given. A folded word stays known while another of its spellings remains, and as a stop word if it is one.
+     */
+    public Lexicon withoutWords(List<String> dictionaryWords) {
+        Validator.validateNotNull(dictionaryWords, "dictionaryWords");
+
+        return this.withChanges(dictionaryWords, -1);
+    }
+
+    public WordType getWordType(CharSequence word) {
+        Validator.validateNotNull(word, "word");
+
+        return this.getWordType(word, 0, word.length());
+    }
+
+    public WordType getWordType(CharSequence text, int start, int end) {
+        if (!this.delta.isEmpty()) {
+            int slot = this.delta.findSlot(text, start, end);
+            if (slot != Delta.NO_SLOT) {
+                return typeOf(this.delta.values[slot]);
+            }
+        }
+
+        int state = this.words.getStart();
+        for (int index = start; index < end && state != WordAutomaton.NO_STATE; index++) {
+            state = this.words.step(state, fold(text.charAt(index)));
+        }
+
+        return typeOf(this.valueOf(state));
+    }
+
+    public WordType getWordType(char[] text, int start, int end) {
+        if (!this.delta.isEmpty()) {
+            int slot = this.delta.findSlot(text, start, end);
+            if (slot != Delta.NO_SLOT) {
+                return typeOf(this.delta.values[slot]);
+            }
+        }
+
+        int state = this.words.getStart();
+        for (int index = start; index < end && state != WordAutomaton.NO_STATE; index++) {
+            state = this.words.step(state, fold(text[index]));
+        }
+
+        return typeOf(this.valueOf(state));
+    }
+
+    public boolean contains(CharSequence word) {
+        Validator.validateNotNull(word, "word");
+
+        return this.getWordType(word) != WordType.WRONG_WORD;
+    }
+
+    public static char fold(char symbol) {
+        return Character.toLowerCase(Character.toUpperCase(symbol));
+    }
+
+    public static String fold(CharSequence word) {
+        StringBuilder folded = new StringBuilder(word.length());
+
+        for (int index = 0; index < word.length(); index++) {
+            folded.append(fold(word.charAt(index)));
+        }
+
+        return folded.toString();
+    }
+
+    private int valueOf(int state) {
+        return state == WordAutomaton.NO_STATE ? 0 : this.words.getValue(state);
+    }
+
+    private int currentValue(String folded) {
+        int slot = this.delta.findSlot(folded, 0, folded.length());
+        if (slot != Delta.NO_SLOT) {
+            return this.delta.values[slot];
+        }
+
+        int state = this.words.getStart();
+        for (int index = 0; index < folded.length() && state != WordAutomaton.NO_STATE; index++) {
+            state = this.words.step(state, folded.charAt(index));
+        }
+
+        return this.valueOf(state);
+    }
+
+    private static WordType typeOf(int value) {
+        if (value >>> SPELLINGS_SHIFT > 0) {
+            return WordType.DICTIONARY_WORD;
+        }
+
+        return value == STOP_WORD_FLAG ? WordType.STOP_WORD : WordType.WRONG_WORD;
+    }
+
+    private Lexicon withChanges(List<String> dictionaryWords, int spellingChange) {
+        String[] foldedWords = dictionaryWords.parallelStream()
+                .map(Lexicon::fold)
+                .toArray(String[]::new);
+        Delta changed = this.delta.copy(foldedWords.length);
+
+        for (String folded : foldedWords) {
+            int slot = changed.findSlot(folded, 0, folded.length());
+            int value = slot != Delta.NO_SLOT ? changed.values[slot] : this.currentValue(folded);
+            int spellings = value >>> SPELLINGS_SHIFT;
+
+            // a word without spellings cannot lose one
+            if (spellingChange > 0 || spellings > 0) {
+                changed.put(folded, (spellings + spellingChange) << SPELLINGS_SHIFT | value & STOP_WORD_FLAG);
+            }
+        }
+
+        Lexicon updated = new Lexicon(this.words, changed);
+        return changed.size > DELTA_LIMIT ? new Lexicon(updated.merged(), Delta.EMPTY) : updated;
+    }
+
+    /**
+     * Returns the automaton with the pending updates merged into it, in the same kind of memory.
+     */
+    private WordAutomaton merged() {
+        if (this.delta.isEmpty()) {
+            return this.words;
+        }
+
+        String[] changedWords = this.delta.sortedKeys();
+        WordAutomaton.Builder builder = new WordAutomaton.Builder();
+        int[] next = new int[1];
+
+        // the words of the automaton come in order just like the changed ones, so the two are merged
+        this.words.forEachWord((word, length, value) -> {
+            String folded = new String(word, 0, length);
+
+            while (next[0] < changedWords.length && changedWords[next[0]].compareTo(folded) < 0) {
+                this.addChanged(builder, changedWords[next[0]++]);
+            }
+
+            if (next[0] < changedWords.length && changedWords[next[0]].equals(folded)) {
+                this.addChanged(builder, changedWords[next[0]++]);
+            } else {
+                builder.add(folded, value);
+            }
+        });
+
+        while (next[0] < changedWords.length) {
+            this.addChanged(builder, changedWords[next[0]++]);
+        }
+
+        return builder.build(this.isOffHeap());
+    }
+
+    private void addChanged(WordAutomaton.Builder builder, String folded) {
+        int value = this.delta.values[this.delta.findSlot(folded, 0, folded.length())];
+
+        // removed words stay in the delta without a value until they are merged away
+        if (value != 0) {
+            builder.add(folded, value);
+        }
+    }
+
+    private static WordAutomaton build(Dictionary dictionary, StopWords stopWords) {
+        Validator.validateNotNull(dictionary, "dictionary");
+        Validator.validateNotNull(stopWords, "stopWords");
+
+        String[] dictionaryWords = foldAndSort(dictionary.dictionaryWords().stream().distinct().toList());
+        String[] stopWordList = foldAndSort(stopWords.stopWords());
+        WordAutomaton.Builder builder = new WordAutomaton.Builder();
+        int dictionaryIndex = 0;
+        int stopIndex = 0;
+
+        while (dictionaryIndex < dictionaryWords.length || stopIndex < stopWordList.length) {
+            String word = stopIndex == stopWordList.length || dictionaryIndex < dictionaryWords.length
+                    && dictionaryWords[dictionaryIndex].compareTo(stopWordList[stopIndex]) < 0
+                    ? dictionaryWords[dictionaryIndex] : stopWordList[stopIndex];
+            int value = 0;
+
+            while (dictionaryIndex < dictionaryWords.length && dictionaryWords[dictionaryIndex].equals(word)) {
+                value += 1 << SPELLINGS_SHIFT;
+                dictionaryIndex++;
+            }
+            while (stopIndex < stopWordList.length && stopWordList[stopIndex].equals(word)) {
+                value |= STOP_WORD_FLAG;
+                stopIndex++;
+            }
+
+            builder.add(word, value);
+        }
+
+        return builder.build(false);
+    }
+
+    private static String[] foldAndSort(List<String> words) {
+        // folding is the costly part and runs in parallel, so does sorting the folded words for the automaton
+        String[] folded = words.parallelStream()
+                .map(Lexicon::fold)
+                .toArray(String[]::new);
+        Arrays.parallelSort(folded);
+
+        return folded;
+    }
+
+    /**
+     * Open-addressing table of the folded keys changed since the automaton was built, with their new values;
+     * 0 marks a removed key. It is copied before every change, so a lexicon never sees the changes of its copies.
+     */
+    private static final class Delta {
+        private static final int MINIMAL_CAPACITY = 16;
+        private static final Delta EMPTY = new Delta(MINIMAL_CAPACITY);
+        private static final int NO_SLOT = -1;
+        private static final int HASH_MULTIPLIER = 31;
+        private static final int HASH_SPREAD_SHIFT = 16;
+        private final String[] keys;
+        private final int[] values;
+        private final int mask;
+        private int size;
+
+        private Delta(int capacity) {
+            this.keys = new String[capacity];
+            this.values = new int[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private boolean isEmpty() {
+            return this.size == 0;
+        }
+
+        private long getFootprintBytes() {
+            long bytes = (long) (Integer.BYTES + Integer.BYTES) * this.keys.length;
+            for (String key : this.keys) {
+                bytes += key == null ? 0 : (long) Character.BYTES * key.length();
+            }
+
+            return bytes;
+        }
+
+        /**
+         * Returns a copy with room for {@code extraKeys} more keys.
+         */
+        private Delta copy(int extraKeys) {
+            int capacity = MINIMAL_CAPACITY;
+            while (capacity < (this.size + extraKeys) * 2) {
+                capacity <<= 1;
+            }
+
+            Delta copy = new Delta(Math.max(capacity, this.keys.length));
+            for (int slot = 0; slot < this.keys.length; slot++) {
+                if (this.keys[slot] != null) {
+                    copy.put(this.keys[slot], this.values[slot]);
+                }
+            }
+
+            return copy;
+        }
+
+        private void put(String folded, int value) {
+            int slot = hash(folded, 0, folded.length()) & this.mask;
+
+            while (this.keys[slot] != null && !this.keys[slot].equals(folded)) {
+                slot = (slot + 1) & this.mask;
+            }
+
+            if (this.keys[slot] == null) {
+                this.keys[slot] = folded;
+                this.size++;
+            }
+            this.values[slot] = value;
+        }
+
+        private String[] sortedKeys() {
+            String[] sorted = Arrays.stream(this.keys)
+                    .filter(key -> key != null)
+                    .toArray(String[]::new);
+            Arrays.sort(sorted);
+
+            return sorted;
+        }
+
+        private int findSlot(CharSequence text, int start, int end) {
+            int slot = hash(text, start, end) & this.mask;
+
+            while (this.keys[slot] != null) {
+                if (matches(this.keys[slot], text, start, end)) {
+                    return slot;
+                }
+                slot = (slot + 1) & this.mask;
+            }
+
+            return NO_SLOT;
+        }
+
+        private int findSlot(char[] text, int start, int end) {
+            int slot = hash(text, start, end) & this.mask;
+
+            while (this.keys[slot] != null) {
+                if (matches(this.keys[slot], text, start, end)) {
+                    return slot;
+                }
+                slot = (slot + 1) & this.mask;
+            }
+
+            return NO_SLOT;
+        }
+
+        private static boolean matches(String key, CharSequence text, int start, int end) {
+            if (key.length() != end - start) {
+                return false;
+            }
+
+            for (int index = start; index < end; index++) {
+                if (key.charAt(index - start) != fold(text.charAt(index))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private static boolean matches(String key, char[] text, int start, int end) {
+            if (key.length() != end - start) {
+                return false;
+            }
+
+            for (int index = start; index < end; index++) {
+                if (key.charAt(index - start) != fold(text[index])) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private static int hash(CharSequence text, int start, int end) {
+            int hash = 0;
+
+            for (int index = start; index < end; index++) {
+                hash = HASH_MULTIPLIER * hash + fold(text.charAt(index));
+            }
+
+            return hash ^ (hash >>> HASH_SPREAD_SHIFT);
+        }
+
+        private static int hash(char[] text, int start, int end) {
+            int hash = 0;
+
+            for (int index = start; index < end; index++) {
+                hash = HASH_MULTIPLIER * hash + fold(text[index]);
+            }
+
+            return hash ^ (hash >>> HASH_SPREAD_SHIFT);
+        }
+    }
+}
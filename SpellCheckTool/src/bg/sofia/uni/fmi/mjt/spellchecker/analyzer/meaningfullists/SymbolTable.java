@@ -0,0 +1,182 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.snapshot.SnapshotInput;
+import bg.sofia.uni.fmi.mjt.spellchecker.snapshot.SnapshotOutput;
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The symbols words are made of: the latin letters and digits plus every character of the dictionary
+ * and stop words, letters in both cases.
+ * Text is scanned char by char, so a supplementary code point is a symbol through its two surrogate halves.
+ * The symbols are looked up in a flat bit table, so classifying a symbol never boxes or hashes.
+ * Every symbol taken from the words keeps count of how often the words use it, so {@link #withoutWords} drops
+ * exactly the symbols no remaining word is made of and an updated table is the same as one built afresh.
+ * The counts are kept per distinct word, like the dictionary updates of a snapshot.
+ */
+public class SymbolTable {
+    private static final char FIRST_ALPHABET_LETTER = 'a';
+    private static final char LAST_ALPHABET_LETTER = 'z';
+    private static final char FIRST_DIGIT = '0';
+    private static final char LAST_DIGIT = '9';
+    private static final int BITS_PER_WORD_SHIFT = 6;
+    private static final int BMP_TABLE_SIZE = (Character.MAX_VALUE + 1) >>> BITS_PER_WORD_SHIFT;
+    private final long[] bmpSymbols;
+    private final int[] countedSymbols;
+    private final int[] references;
+
+    public SymbolTable(Dictionary dictionary, StopWords stopWords) {
+        Validator.validateNotNull(dictionary, "dictionary");
+        Validator.validateNotNull(stopWords, "stopWords");
+
+        SymbolCounts counts = countSymbols(dictionary.dictionaryWords().stream().distinct().toList(), 1);
+        counts.addAll(countSymbols(stopWords.stopWords().stream().distinct().toList(), 1));
+
+        this.countedSymbols = counts.symbols();
+        this.references = counts.references(this.countedSymbols);
+        this.bmpSymbols = bmpSymbolsOf(this.countedSymbols);
+    }
+
+    private SymbolTable(long[] bmpSymbols, int[] countedSymbols, int[] references) {
+        this.bmpSymbols = bmpSymbols;
+        this.countedSymbols = countedSymbols;
+        this.references = references;
+    }
+
+    private SymbolTable(int[] countedSymbols, int[] references) {
+        this(bmpSymbolsOf(countedSymbols), countedSymbols, references);
+    }
+
+    public static SymbolTable readFrom(SnapshotInput input) {
+        Validator.validateNotNull(input, "input");
+
+        return new SymbolTable(input.readLongs(), input.readInts(), input.readInts());
+    }
+
+    public void writeTo(SnapshotOutput output) throws IOException {
+        Validator.validateNotNull(output, "output");
+
+        output.writeLongs(this.bmpSymbols);
+        output.writeInts(this.countedSymbols);
+        output.writeInts(this.references);
+    }
+
+    /**
+     * Returns a copy that also knows the symbols of {@code dictionaryWords}, none of which it has counted yet.
+     */
+    public SymbolTable withWords(List<String> dictionaryWords) {
+        Validator.validateNotNull(dictionaryWords, "dictionaryWords");
+
+        return this.withChanges(countSymbols(dictionaryWords, 1));
+    }
+
+    /**
+     * Returns a copy that no longer counts the symbols of {@code dictionaryWords}, all of which it has counted,
+     * and so no longer knows the symbols only they were made of.
+     */
+    public SymbolTable withoutWords(List<String> dictionaryWords) {
+        Validator.validateNotNull(dictionaryWords, "dictionaryWords");
+
+        return this.withChanges(countSymbols(dictionaryWords, -1));
+    }
+
+    public boolean isSymbol(char symbol) {
+        return (this.bmpSymbols[symbol >>> BITS_PER_WORD_SHIFT] & (1L << symbol)) != 0;
+    }
+
+    private SymbolTable withChanges(SymbolCounts changes) {
+        for (int index = 0; index < this.countedSymbols.length; index++) {
+            changes.add((char) this.countedSymbols[index], this.references[index]);
+        }
+
+        int[] symbols = changes.symbols();
+        return new SymbolTable(symbols, changes.references(symbols));
+    }
+
+    private static long[] bmpSymbolsOf(int[] countedSymbols) {
+        long[] symbols = new long[BMP_TABLE_SIZE];
+        for (char letter = FIRST_ALPHABET_LETTER; letter <= LAST_ALPHABET_LETTER; letter++) {
+            setSymbol(symbols, letter);
+            setSymbol(symbols, Character.toUpperCase(letter));
+        }
+        for (char digit = FIRST_DIGIT; digit <= LAST_DIGIT; digit++) {
+            setSymbol(symbols, digit);
+        }
+
+        for (int symbol : countedSymbols) {
+            setSymbol(symbols, (char) symbol);
+        }
+
+        return symbols;
+    }
+
+    private static void setSymbol(long[] symbols, char symbol) {
+        symbols[symbol >>> BITS_PER_WORD_SHIFT] |= 1L << symbol;
+    }
+
+    private static SymbolCounts countSymbols(List<String> words, int delta) {
+        return words.parallelStream()
+                .collect(SymbolCounts::new, (counts, word) -> counts.addWord(word, delta), SymbolCounts::addAll);
+    }
+
+    /**
+     * How often the symbols are used, counted in a flat array indexed by character.
+     */
+    private static final class SymbolCounts {
+        private final int[] bmpCounts = new int[Character.MAX_VALUE + 1];
+
+        private void add(char symbol, int delta) {
+            this.bmpCounts[symbol] += delta;
+        }
+
+        private void addAll(SymbolCounts other) {
+            for (int symbol = 0; symbol <= Character.MAX_VALUE; symbol++) {
+                this.bmpCounts[symbol] += other.bmpCounts[symbol];
+            }
+        }
+
+        private void addWord(String word, int delta) {
+            for (int index = 0; index < word.length(); index++) {
+                char symbol = word.charAt(index);
+                if (Character.isLetter(symbol)) {
+                    this.add(Character.isLowerCase(symbol)
+                            ? Character.toUpperCase(symbol) : Character.toLowerCase(symbol), delta);
+                }
+                this.add(symbol, delta);
+            }
+        }
+
+        /**
+         * Returns the symbols still in use, in ascending order.
+         */
+        private int[] symbols() {
+            int count = 0;
+            for (int references : this.bmpCounts) {
+                if (references > 0) {
+                    count++;
+                }
+            }
+
+            int[] symbols = new int[count];
+            int next = 0;
+            for (int symbol = 0; symbol <= Character.MAX_VALUE; symbol++) {
+                if (this.bmpCounts[symbol] > 0) {
+                    symbols[next++] = symbol;
+                }
+            }
+
+            return symbols;
+        }
+
+        private int[] references(int[] symbols) {
+            int[] references = new int[symbols.length];
+            for (int index = 0; index < symbols.length; index++) {
+                references[index] = this.bmpCounts[symbols[index]];
+            }
+
+            return references;
+        }
+    }
+}
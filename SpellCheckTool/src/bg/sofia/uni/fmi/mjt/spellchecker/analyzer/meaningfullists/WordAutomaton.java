@@ -0,0 +1,381 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.snapshot.SnapshotInput;
+import bg.sofia.uni.fmi.mjt.spellchecker.snapshot.SnapshotOutput;
+import bg.sofia.uni.fmi.mjt.spellchecker.storage.Buffers;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Minimal acyclic automaton accepting a set of words, each of which carries a positive value.
+ * States with the same value and the same transitions are merged, so words share the states of their common
+ * suffixes as well as of their common prefixes. State {@code s} owns the transitions
+ * {@code [firstTransitions[s], firstTransitions[s + 1])} of {@code labels} and {@code targets}, sorted by label,
+ * and {@code values[s]} is the value of the word ending in it, 0 if none does.
+ * Walking it with {@link #step} never allocates; the buffers live on the heap or in direct memory.
+ */
+final class WordAutomaton {
+    static final int NO_STATE = -1;
+    private final IntBuffer firstTransitions;
+    private final IntBuffer values;
+    private final CharBuffer labels;
+    private final IntBuffer targets;
+    private final int start;
+
+    private WordAutomaton(IntBuffer firstTransitions, IntBuffer values, CharBuffer labels, IntBuffer targets,
+                          int start) {
+        this.firstTransitions = firstTransitions;
+        this.values = values;
+        this.labels = labels;
+        this.targets = targets;
+        this.start = start;
+    }
+
+    static WordAutomaton readFrom(SnapshotInput input, boolean direct) {
+        int start = input.readInt();
+
+        return new WordAutomaton(input.readIntBuffer(direct), input.readIntBuffer(direct),
+                input.readCharBuffer(direct), input.readIntBuffer(direct), start);
+    }
+
+    void writeTo(SnapshotOutput output) throws IOException {
+        output.writeInt(this.start);
+        output.writeInts(this.firstTransitions);
+        output.writeInts(this.values);
+        output.writeChars(this.labels);
+        output.writeInts(this.targets);
+    }
+
+    WordAutomaton copy(boolean direct) {
+        if (this.isDirect() == direct) {
+            return this;
+        }
+
+        return new WordAutomaton(Buffers.copyOf(this.firstTransitions, this.firstTransitions.capacity(), direct),
+                Buffers.copyOf(this.values, this.values.capacity(), direct),
+                Buffers.copyOf(this.labels, this.labels.capacity(), direct),
+                Buffers.copyOf(this.targets, this.targets.capacity(), direct), this.start);
+    }
+
+    boolean isDirect() {
+        return this.values.isDirect();
+    }
+
+    int getStart() {
+        return this.start;
+    }
+
+    /**
+     * Returns the state reached from {@code state} over {@code label}, or {@link #NO_STATE} if no word continues so.
+     */
+    int step(int state, char label) {
+        int low = this.firstTransitions.get(state);
+        int high = this.firstTransitions.get(state + 1) - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char middleLabel = this.labels.get(middle);
+
+            if (middleLabel < label) {
+                low = middle + 1;
+            } else if (middleLabel > label) {
+                high = middle - 1;
+            } else {
+                return this.targets.get(middle);
+            }
+        }
+
+        return NO_STATE;
+    }
+
+    int getValue(int state) {
+        return this.values.get(state);
+    }
+
+    int getStateCount() {
+        return this.values.capacity();
+    }
+
+    int getTransitionCount() {
+        return this.labels.capacity();
+    }
+
+    long getFootprintBytes() {
+        return (long) Integer.BYTES * (this.firstTransitions.capacity() + this.values.capacity())
+                + (long) (Character.BYTES + Integer.BYTES) * this.labels.capacity();
+    }
+
+    /**
+     * Passes every word with its value to {@code visitor}, in increasing order. The characters are only valid during
+     * the call, as the same array is refilled for the next word.
+     */
+    void forEachWord(WordVisitor visitor) {
+        char[] word = new char[Builder.INITIAL_DEPTH];
+        int[] states = new int[Builder.INITIAL_DEPTH + 1];
+        int[] nextTransitions = new int[Builder.INITIAL_DEPTH + 1];
+        int depth = 0;
+
+        states[0] = this.start;
+        nextTransitions[0] = this.firstTransitions.get(this.start);
+        if (this.values.get(this.start) != 0) {
+            visitor.visit(word, 0, this.values.get(this.start));
+        }
+
+        while (depth >= 0) {
+            int transition = nextTransitions[depth];
+            if (transition == this.firstTransitions.get(states[depth] + 1)) {
+                depth--;
+                continue;
+            }
+
+            nextTransitions[depth]++;
+            if (depth == word.length) {
+                word = Arrays.copyOf(word, word.length * 2);
+                states = Arrays.copyOf(states, word.length + 1);
+                nextTransitions = Arrays.copyOf(nextTransitions, word.length + 1);
+            }
+
+            int target = this.targets.get(transition);
+            word[depth++] = this.labels.get(transition);
+            states[depth] = target;
+            nextTransitions[depth] = this.firstTransitions.get(target);
+
+            if (this.values.get(target) != 0) {
+                visitor.visit(word, depth, this.values.get(target));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface WordVisitor {
+        void visit(char[] word, int length, int value);
+    }
+
+    /**
+     * Builds the automaton from words given in strictly increasing order, freezing a state as soon as no later word
+     * can pass through it and replacing it by an equal frozen state when there already is one.
+     */
+    static final class Builder {
+        private static final int INITIAL_DEPTH = 16;
+        private static final int INITIAL_STATES = 1024;
+        private static final int HASH_MULTIPLIER = 31;
+        private static final int MIX_SHIFT_LONG = 16;
+        private static final int MIX_SHIFT_SHORT = 13;
+        private static final int MIX_MULTIPLIER_FIRST = 0x85EBCA6B;
+        private static final int MIX_MULTIPLIER_SECOND = 0xC2B2AE35;
+        private static final String KEYWORD_NOT_INCREASING = " is not greater than the word added before it.";
+        private int[] firstTransitions = new int[INITIAL_STATES + 1];
+        private int[] values = new int[INITIAL_STATES];
+        private char[] labels = new char[INITIAL_STATES];
+        private int[] targets = new int[INITIAL_STATES];
+        private int stateCount;
+        private int transitionCount;
+        private int wordCount;
+        private int[] register = newRegister(INITIAL_STATES * 2);
+        private char[] previous = new char[INITIAL_DEPTH];
+        private int previousLength;
+        private char[][] pendingLabels = new char[INITIAL_DEPTH + 1][];
+        private int[][] pendingTargets = new int[INITIAL_DEPTH + 1][];
+        private int[] pendingCounts = new int[INITIAL_DEPTH + 1];
+        private int[] pendingValues = new int[INITIAL_DEPTH + 1];
+
+        Builder() {
+            this.preparePending(0);
+        }
+
+        Builder add(CharSequence word, int value) {
+            int common = 0;
+            while (common < word.length() && common < this.previousLength
+                    && word.charAt(common) == this.previous[common]) {
+                common++;
+            }
+
+            boolean increasing = common < word.length()
+                    && (common == this.previousLength || word.charAt(common) > this.previous[common]);
+            if (!increasing && this.wordCount > 0) {
+                throw new IllegalArgumentException(word + KEYWORD_NOT_INCREASING);
+            }
+
+            this.freezeDownTo(common);
+            if (word.length() >= this.previous.length) {
+                this.previous = Arrays.copyOf(this.previous, word.length() * 2);
+            }
+
+            for (int depth = common; depth < word.length(); depth++) {
+                this.addPendingTransition(depth, word.charAt(depth));
+                this.previous[depth] = word.charAt(depth);
+                this.preparePending(depth + 1);
+            }
+            this.pendingValues[word.length()] = value;
+            this.previousLength = word.length();
+            this.wordCount++;
+
+            return this;
+        }
+
+        WordAutomaton build(boolean direct) {
+            this.freezeDownTo(0);
+            int start = this.freeze(0);
+
+            return new WordAutomaton(
+                    Buffers.ints(Arrays.copyOf(this.firstTransitions, this.stateCount + 1), direct),
+                    Buffers.ints(Arrays.copyOf(this.values, this.stateCount), direct),
+                    Buffers.chars(Arrays.copyOf(this.labels, this.transitionCount), direct),
+                    Buffers.ints(Arrays.copyOf(this.targets, this.transitionCount), direct), start);
+        }
+
+        private void freezeDownTo(int depth) {
+            for (int pending = this.previousLength; pending > depth; pending--) {
+                int state = this.freeze(pending);
+                this.pendingTargets[pending - 1][this.pendingCounts[pending - 1] - 1] = state;
+            }
+        }
+
+        private int freeze(int depth) {
+            int hash = this.hashPending(depth);
+            int mask = this.register.length - 1;
+            int slot = hash & mask;
+
+            while (this.register[slot] != NO_STATE) {
+                if (this.equalsPending(this.register[slot], depth)) {
+                    return this.register[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            int state = this.appendState(depth);
+            this.register[slot] = state;
+            if (this.stateCount * 2 > this.register.length) {
+                this.growRegister();
+            }
+
+            return state;
+        }
+
+        private int appendState(int depth) {
+            int count = this.pendingCounts[depth];
+            if (this.stateCount + 1 == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.values.length * 2);
+                this.firstTransitions = Arrays.copyOf(this.firstTransitions, this.values.length + 1);
+            }
+            if (this.transitionCount + count > this.labels.length) {
+                int capacity = Math.max(this.labels.length * 2, this.transitionCount + count);
+                this.labels = Arrays.copyOf(this.labels, capacity);
+                this.targets = Arrays.copyOf(this.targets, capacity);
+            }
+
+            System.arraycopy(this.pendingLabels[depth], 0, this.labels, this.transitionCount, count);
+            System.arraycopy(this.pendingTargets[depth], 0, this.targets, this.transitionCount, count);
+            this.values[this.stateCount] = this.pendingValues[depth];
+            this.firstTransitions[this.stateCount] = this.transitionCount;
+            this.transitionCount += count;
+            this.firstTransitions[this.stateCount + 1] = this.transitionCount;
+
+            return this.stateCount++;
+        }
+
+        private boolean equalsPending(int state, int depth) {
+            int first = this.firstTransitions[state];
+            int count = this.pendingCounts[depth];
+
+            if (this.values[state] != this.pendingValues[depth] || this.firstTransitions[state + 1] - first != count) {
+                return false;
+            }
+
+            for (int index = 0; index < count; index++) {
+                if (this.labels[first + index] != this.pendingLabels[depth][index]
+                        || this.targets[first + index] != this.pendingTargets[depth][index]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private int hashPending(int depth) {
+            int hash = this.pendingValues[depth];
+            for (int index = 0; index < this.pendingCounts[depth]; index++) {
+                hash = HASH_MULTIPLIER * (HASH_MULTIPLIER * hash + this.pendingLabels[depth][index])
+                        + this.pendingTargets[depth][index];
+            }
+
+            return spread(hash);
+        }
+
+        private int hashState(int state) {
+            int hash = this.values[state];
+            for (int index = this.firstTransitions[state]; index < this.firstTransitions[state + 1]; index++) {
+                hash = HASH_MULTIPLIER * (HASH_MULTIPLIER * hash + this.labels[index]) + this.targets[index];
+            }
+
+            return spread(hash);
+        }
+
+        private void growRegister() {
+            this.register = newRegister(this.register.length * 2);
+            int mask = this.register.length - 1;
+
+            for (int state = 0; state < this.stateCount; state++) {
+                int slot = this.hashState(state) & mask;
+                while (this.register[slot] != NO_STATE) {
+                    slot = (slot + 1) & mask;
+                }
+                this.register[slot] = state;
+            }
+        }
+
+        private void addPendingTransition(int depth, char label) {
+            int count = this.pendingCounts[depth];
+            if (count == this.pendingLabels[depth].length) {
+                this.pendingLabels[depth] = Arrays.copyOf(this.pendingLabels[depth], count * 2);
+                this.pendingTargets[depth] = Arrays.copyOf(this.pendingTargets[depth], count * 2);
+            }
+
+            this.pendingLabels[depth][count] = label;
+            this.pendingTargets[depth][count] = NO_STATE;
+            this.pendingCounts[depth]++;
+        }
+
+        private void preparePending(int depth) {
+            if (depth == this.pendingCounts.length) {
+                int capacity = this.pendingCounts.length * 2;
+                this.pendingLabels = Arrays.copyOf(this.pendingLabels, capacity);
+                this.pendingTargets = Arrays.copyOf(this.pendingTargets, capacity);
+                this.pendingCounts = Arrays.copyOf(this.pendingCounts, capacity);
+                this.pendingValues = Arrays.copyOf(this.pendingValues, capacity);
+            }
+            if (this.pendingLabels[depth] == null) {
+                this.pendingLabels[depth] = new char[2];
+                this.pendingTargets[depth] = new int[2];
+            }
+
+            this.pendingCounts[depth] = 0;
+            this.pendingValues[depth] = 0;
+        }
+
+        /**
+         * Mixes every bit of {@code hash} into the low ones the register is indexed by. Targets are numbered in
+         * order, so without it states hash to runs of neighbouring slots and linear probing degrades to a scan.
+         */
+        private static int spread(int hash) {
+            int mixed = hash;
+            mixed ^= mixed >>> MIX_SHIFT_LONG;
+            mixed *= MIX_MULTIPLIER_FIRST;
+            mixed ^= mixed >>> MIX_SHIFT_SHORT;
+            mixed *= MIX_MULTIPLIER_SECOND;
+            mixed ^= mixed >>> MIX_SHIFT_LONG;
+
+            return mixed;
+        }
+
+        private static int[] newRegister(int capacity) {
+            int[] register = new int[capacity];
+            Arrays.fill(register, NO_STATE);
+
+            return register;
+        }
+    }
+}
@@ -17,6 +17,12 @@ public class MetadataContainer {
         this.characters += charNumber;
     }
 
+    public void addAll(MetadataContainer other) {
+        this.characters += other.characters;
+        this.words += other.words;
+        this.mistakes += other.mistakes;
+    }
+
     public int getCharacters() {
         return this.characters;
     }
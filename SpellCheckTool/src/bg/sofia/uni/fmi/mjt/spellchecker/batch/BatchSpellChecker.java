@@ -0,0 +1,80 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.batch;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.Metadata;
+import bg.sofia.uni.fmi.mjt.spellchecker.NaiveSpellChecker;
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.io.Closeable;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Runs many documents through one {@link NaiveSpellChecker} on an internal pool of threads.
+ * All documents share the immutable lexicon, similarity index and suggestion cache of the checker,
+ * so the engine is built and warmed up once for the whole stream of documents.
+ */
+public class BatchSpellChecker implements Closeable {
+    private final NaiveSpellChecker spellChecker;
+    private final ExecutorService executor;
+
+    public BatchSpellChecker(NaiveSpellChecker spellChecker) {
+        this(spellChecker, Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchSpellChecker(NaiveSpellChecker spellChecker, int parallelism) {
+        Validator.validateNotNull(spellChecker, "spellChecker");
+        Validator.validatePositive(parallelism);
+
+        this.spellChecker = spellChecker;
+        this.executor = Executors.newFixedThreadPool(Math.max(parallelism, 1));
+    }
+
+    public DocumentBatch analyzeAll(List<Document> documents, int suggestionsCount) {
+        Validator.validateNotNull(documents, "documents");
+        Validator.validatePositive(suggestionsCount);
+
+        return this.submit(documents, Document::textReader,
+                (document, textReader) -> this.spellChecker.analyzeAndCollectMetadata(textReader,
+                        document.output(), suggestionsCount));
+    }
+
+    public DocumentBatch metadataAll(List<Reader> textReaders) {
+        Validator.validateNotNull(textReaders, "textReaders");
+
+        return this.submit(textReaders, Function.identity(),
+                (ignored, textReader) -> this.spellChecker.metadata(textReader));
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdown();
+    }
+
+    private <T> DocumentBatch submit(List<T> documents, Function<T, Reader> source,
+                                     BiFunction<T, Reader, Metadata> task) {
+        LongAdder finished = new LongAdder();
+        LongAdder characters = new LongAdder();
+        long startNanos = System.nanoTime();
+        List<CompletableFuture<Metadata>> results = new ArrayList<>(documents.size());
+
+        for (T document : documents) {
+            Validator.validateNotNull(document, "document");
+            Reader textReader = new CountingReader(source.apply(document), characters);
+
+            results.add(CompletableFuture.supplyAsync(() -> {
+                Metadata metadata = task.apply(document, textReader);
+                finished.increment();
+                return metadata;
+            }, this.executor));
+        }
+
+        return new DocumentBatch(results, finished, characters, startNanos);
+    }
+}
@@ -0,0 +1,18 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.batch;
+
+/**
+ * Throughput of a batch: documents finished so far, characters read from them and the time since the batch
+ * was submitted. Megabytes count one byte per character read, as for ASCII text.
+ */
+public record BatchStatistics(long documents, long characters, long elapsedNanos) {
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double BYTES_PER_MEGABYTE = 1 << 20;
+
+    public double documentsPerSecond() {
+        return this.elapsedNanos == 0 ? 0 : this.documents * NANOS_PER_SECOND / this.elapsedNanos;
+    }
+
+    public double megabytesPerSecond() {
+        return this.elapsedNanos == 0 ? 0 : this.characters / BYTES_PER_MEGABYTE * NANOS_PER_SECOND / this.elapsedNanos;
+    }
+}
@@ -0,0 +1,36 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.batch;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.concurrent.atomic.LongAdder;
+
+class CountingReader extends FilterReader {
+    private final LongAdder characters;
+
+    CountingReader(Reader reader, LongAdder characters) {
+        super(reader);
+
+        this.characters = characters;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int symbol = super.read();
+
+        if (symbol >= 0) {
+            this.characters.increment();
+        }
+        return symbol;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+
+        if (read > 0) {
+            this.characters.add(read);
+        }
+        return read;
+    }
+}
@@ -0,0 +1,13 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.batch;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.io.Reader;
+import java.io.Writer;
+
+public record Document(Reader textReader, Writer output) {
+    public Document {
+        Validator.validateNotNull(textReader, "textReader");
+        Validator.validateNotNull(output, "output");
+    }
+}
@@ -0,0 +1,51 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.batch;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.Metadata;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Documents submitted together to a {@link BatchSpellChecker}.
+ * Holds a future with the metadata of every document, in submission order, and counters that can be read
+ * while the batch is still running.
+ */
+public class DocumentBatch {
+    private final List<CompletableFuture<Metadata>> results;
+    private final LongAdder documents;
+    private final LongAdder characters;
+    private final long startNanos;
+    private final CompletableFuture<BatchStatistics> completion;
+    private volatile long elapsedNanos = -1;
+
+    DocumentBatch(List<CompletableFuture<Metadata>> results, LongAdder documents, LongAdder characters,
+                  long startNanos) {
+        this.results = List.copyOf(results);
+        this.documents = documents;
+        this.characters = characters;
+        this.startNanos = startNanos;
+        this.completion = CompletableFuture.allOf(this.results.toArray(new CompletableFuture<?>[0]))
+                .handle((ignored, failure) -> {
+                    this.elapsedNanos = System.nanoTime() - this.startNanos;
+                    return this.getStatistics();
+                });
+    }
+
+    public List<CompletableFuture<Metadata>> getResults() {
+        return this.results;
+    }
+
+    /**
+     * Completes with the final statistics once every document is done, whether it succeeded or not.
+     */
+    public CompletableFuture<BatchStatistics> getCompletion() {
+        return this.completion;
+    }
+
+    public BatchStatistics getStatistics() {
+        long elapsed = this.elapsedNanos < 0 ? System.nanoTime() - this.startNanos : this.elapsedNanos;
+
+        return new BatchStatistics(this.documents.sum(), this.characters.sum(), elapsed);
+    }
+}
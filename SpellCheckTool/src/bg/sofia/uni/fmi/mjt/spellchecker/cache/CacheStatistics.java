@@ -0,0 +1,9 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.cache;
+
+public record CacheStatistics(long hits, long misses, long evictions) {
+    public double hitRate() {
+        long requests = this.hits + this.misses;
+
+        return requests == 0 ? 0 : (double) this.hits / requests;
+    }
+}
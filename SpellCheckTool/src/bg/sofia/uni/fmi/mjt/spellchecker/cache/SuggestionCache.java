@@ -0,0 +1,185 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.cache;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Size-bounded, thread-safe cache of suggestion lists keyed by the lower-cased misspelled word.
+ * Eviction is segmented LRU: new entries start in a probation segment and move to a protected
+ * segment when they are hit again, so words seen only once cannot push out the frequently repeated ones.
+ * An entry computed for {@code n} suggestions also answers every request for fewer suggestions.
+ * Large caches are split by key hash into independently locked stripes, each evicting on its own, so concurrent
+ * lookups of different words rarely wait for one another.
+ */
+public class SuggestionCache {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final double PROTECTED_SHARE = 0.8;
+    private static final int MAX_STRIPE_COUNT = 16;
+    private static final int MIN_STRIPE_CAPACITY = 256;
+    private final Stripe[] stripes;
+
+    private record Entry(int suggestionsCount, List<String> suggestions) {
+        private boolean answers(int n) {
+            return n <= this.suggestionsCount;
+        }
+
+        private List<String> firstSuggestions(int n) {
+            return n < this.suggestions.size() ? this.suggestions.subList(0, n) : this.suggestions;
+        }
+    }
+
+    public SuggestionCache(int capacity) {
+        Validator.validatePositive(capacity);
+
+        // a power of two, and few enough that every stripe still evicts by recency over many entries
+        int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPE_COUNT,
+                capacity / MIN_STRIPE_CAPACITY)));
+        this.stripes = new Stripe[stripeCount];
+        for (int index = 0; index < stripeCount; index++) {
+            this.stripes[index] = new Stripe(capacity / stripeCount + (index < capacity % stripeCount ? 1 : 0));
+        }
+    }
+
+    public List<String> get(String word, int n) {
+        Validator.validateNotNull(word, "word");
+        Validator.validatePositive(n);
+
+        String key = word.toLowerCase(Locale.ROOT);
+        return this.stripeOf(key).get(key, n);
+    }
+
+    public void put(String word, int n, List<String> suggestions) {
+        Validator.validateNotNull(word, "word");
+        Validator.validateNotNull(suggestions, "suggestions");
+        Validator.validatePositive(n);
+
+        String key = word.toLowerCase(Locale.ROOT);
+        this.stripeOf(key).put(key, new Entry(n, List.copyOf(suggestions)));
+    }
+
+    public CacheStatistics getStatistics() {
+        long hits = 0;
+        long misses = 0;
+        long evictions = 0;
+        for (Stripe stripe : this.stripes) {
+            CacheStatistics statistics = stripe.getStatistics();
+            hits += statistics.hits();
+            misses += statistics.misses();
+            evictions += statistics.evictions();
+        }
+
+        return new CacheStatistics(hits, misses, evictions);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : this.stripes) {
+            size += stripe.size();
+        }
+
+        return size;
+    }
+
+    private Stripe stripeOf(String key) {
+        int hash = key.hashCode();
+
+        return this.stripes[(hash ^ (hash >>> Short.SIZE)) & (this.stripes.length - 1)];
+    }
+
+    /**
+     * The entries of the keys hashed to one stripe, guarded by the stripe itself.
+     */
+    private static final class Stripe {
+        private final int capacity;
+        private final int protectedCapacity;
+        private final Map<String, Entry> probation;
+        private final Map<String, Entry> protectedEntries;
+        private long hits;
+        private long misses;
+        private long evictions;
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
+            this.protectedCapacity = (int) (capacity * PROTECTED_SHARE);
+            this.probation = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+            this.protectedEntries = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+        }
+
+        private synchronized List<String> get(String key, int n) {
+            Entry entry = this.protectedEntries.get(key);
+
+            if (entry == null) {
+                entry = this.probation.get(key);
+                if (entry != null && entry.answers(n)) {
+                    this.promote(key, entry);
+                }
+            }
+
+            if (entry == null || !entry.answers(n)) {
+                this.misses++;
+                return null;
+            }
+
+            this.hits++;
+            return entry.firstSuggestions(n);
+        }
+
+        private synchronized void put(String key, Entry entry) {
+            if (this.capacity == 0) {
+                return;
+            }
+
+            Entry protectedEntry = this.protectedEntries.get(key);
+
+            if (protectedEntry != null) {
+                if (protectedEntry.suggestionsCount() < entry.suggestionsCount()) {
+                    this.protectedEntries.put(key, entry);
+                }
+                return;
+            }
+
+            Entry probationEntry = this.probation.get(key);
+            if (probationEntry == null || probationEntry.suggestionsCount() < entry.suggestionsCount()) {
+                this.probation.put(key, entry);
+            }
+
+            this.evictIfNeeded();
+        }
+
+        private synchronized CacheStatistics getStatistics() {
+            return new CacheStatistics(this.hits, this.misses, this.evictions);
+        }
+
+        private synchronized int size() {
+            return this.probation.size() + this.protectedEntries.size();
+        }
+
+        private void promote(String key, Entry entry) {
+            this.probation.remove(key);
+            this.protectedEntries.put(key, entry);
+
+            if (this.protectedEntries.size() > this.protectedCapacity) {
+                Iterator<Map.Entry<String, Entry>> eldest = this.protectedEntries.entrySet().iterator();
+                Map.Entry<String, Entry> demoted = eldest.next();
+                eldest.remove();
+                this.probation.put(demoted.getKey(), demoted.getValue());
+            }
+        }
+
+        private void evictIfNeeded() {
+            while (this.size() > this.capacity) {
+                Map<String, Entry> segment = this.probation.isEmpty() ? this.protectedEntries : this.probation;
+                Iterator<Map.Entry<String, Entry>> eldest = segment.entrySet().iterator();
+                eldest.next();
+                eldest.remove();
+                this.evictions++;
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.formatter;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.Metadata;
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Writes the report in a compact big-endian binary format: the ints {@link #MAGIC} and {@link #VERSION}, then one
+ * record per part, made of a kind byte, the length of the rest of the record as an int and the record itself.
+ * A {@link #METADATA} record holds the characters, words and mistakes as ints; a {@link #FINDING} record holds the
+ * line number, the word and the number of suggestions followed by the suggestions. A string is its length followed
+ * by its UTF-16 characters, so a reader can skip any record or string without decoding it.
+ * Records are encoded into a buffer of their own that goes to the output whenever it fills up.
+ * The analyzed text is left out.
+ */
+public class BinaryReportWriter implements ReportWriter {
+    public static final int MAGIC = 0x53435250;
+    public static final int VERSION = 1;
+    public static final byte METADATA = 1;
+    public static final byte FINDING = 2;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int METADATA_LENGTH = 3 * Integer.BYTES;
+    private final OutputStream output;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private boolean started;
+
+    public BinaryReportWriter(OutputStream output) {
+        Validator.validateNotNull(output, "output");
+
+        this.output = output;
+    }
+
+    @Override
+    public Writer getTextEcho() {
+        return null;
+    }
+
+    @Override
+    public void writeMetadata(Metadata metadata) throws IOException {
+        Validator.validateNotNull(metadata, "metadata");
+
+        this.start();
+        this.ensureRoom(Byte.BYTES + Integer.BYTES + METADATA_LENGTH);
+        this.buffer.put(METADATA)
+                .putInt(METADATA_LENGTH)
+                .putInt(metadata.characters())
+                .putInt(metadata.words())
+                .putInt(metadata.mistakes());
+    }
+
+    @Override
+    public void writeFinding(int lineNumber, String word, List<String> suggestions) throws IOException {
+        Validator.validateNotNull(word, "word");
+        Validator.validateNotNull(suggestions, "suggestions");
+        Validator.validatePositive(lineNumber);
+
+        int length = 2 * Integer.BYTES + stringLength(word);
+        for (String suggestion : suggestions) {
+            length += stringLength(suggestion);
+        }
+
+        this.start();
+        this.ensureRoom(Byte.BYTES + 3 * Integer.BYTES);
+        this.buffer.put(FINDING)
+                .putInt(length)
+                .putInt(lineNumber);
+        this.writeString(word);
+        this.ensureRoom(Integer.BYTES);
+        this.buffer.putInt(suggestions.size());
+        for (String suggestion : suggestions) {
+            this.writeString(suggestion);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.start();
+        this.drain();
+        this.output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.flush();
+        } finally {
+            this.output.close();
+        }
+    }
+
+    private void start() throws IOException {
+        if (!this.started) {
+            this.started = true;
+            this.buffer.putInt(MAGIC).putInt(VERSION);
+        }
+    }
+
+    private void writeString(String text) throws IOException {
+        this.ensureRoom(Integer.BYTES);
+        this.buffer.putInt(text.length());
+
+        for (int index = 0; index < text.length(); index++) {
+            if (this.buffer.remaining() < Character.BYTES) {
+                this.drain();
+            }
+            this.buffer.putChar(text.charAt(index));
+        }
+    }
+
+    private void ensureRoom(int bytes) throws IOException {
+        if (this.buffer.remaining() < bytes) {
+            this.drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        this.output.write(this.buffer.array(), 0, this.buffer.position());
+        this.buffer.clear();
+    }
+
+    private static int stringLength(String text) {
+        return Integer.BYTES + Character.BYTES * text.length();
+    }
+}
@@ -0,0 +1,122 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.formatter;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.Metadata;
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes the report as JSON Lines, one object per line ending in {@code \n}:
+ * {@code {"type":"metadata","characters":133,"words":15,"mistakes":12}} first, then one
+ * {@code {"type":"finding","line":3,"word":"helllo","suggestions":["hello","hell"]}} per finding.
+ * Every line is put together in a reusable buffer, escaping strings as they are copied. The analyzed text is
+ * left out.
+ */
+public class JsonLinesReportWriter implements ReportWriter {
+    private static final String KEYWORD_METADATA = "{\"type\":\"metadata\",\"characters\":";
+    private static final String KEYWORD_WORDS = ",\"words\":";
+    private static final String KEYWORD_MISTAKES = ",\"mistakes\":";
+    private static final String KEYWORD_FINDING = "{\"type\":\"finding\",\"line\":";
+    private static final String KEYWORD_WORD = ",\"word\":";
+    private static final String KEYWORD_SUGGESTIONS = ",\"suggestions\":[";
+    private static final String KEYWORD_SUGGESTIONS_END = "]";
+    private static final String KEYWORD_OBJECT_END = "}\n";
+    private static final char QUOTE = '"';
+    private static final char BACKSLASH = '\\';
+    private static final char COMMA = ',';
+    private static final char FIRST_PRINTABLE = ' ';
+    private static final String HEX_DIGITS = "0123456789abcdef";
+    private static final int HEX_DIGIT_BITS = 4;
+    private static final int HEX_DIGIT_MASK = 0xF;
+    private final Writer output;
+    private final RecordBuffer record = new RecordBuffer();
+
+    public JsonLinesReportWriter(Writer output) {
+        Validator.validateNotNull(output, "output");
+
+        this.output = output;
+    }
+
+    @Override
+    public Writer getTextEcho() {
+        return null;
+    }
+
+    @Override
+    public void writeMetadata(Metadata metadata) throws IOException {
+        Validator.validateNotNull(metadata, "metadata");
+
+        this.record.append(KEYWORD_METADATA).append(metadata.characters())
+                .append(KEYWORD_WORDS).append(metadata.words())
+                .append(KEYWORD_MISTAKES).append(metadata.mistakes())
+                .append(KEYWORD_OBJECT_END)
+                .writeTo(this.output);
+    }
+
+    @Override
+    public void writeFinding(int lineNumber, String word, List<String> suggestions) throws IOException {
+        Validator.validateNotNull(word, "word");
+        Validator.validateNotNull(suggestions, "suggestions");
+        Validator.validatePositive(lineNumber);
+
+        this.record.append(KEYWORD_FINDING).append(lineNumber).append(KEYWORD_WORD);
+        this.appendString(word);
+        this.record.append(KEYWORD_SUGGESTIONS);
+
+        for (int index = 0; index < suggestions.size(); index++) {
+            if (index > 0) {
+                this.record.append(COMMA);
+            }
+            this.appendString(suggestions.get(index));
+        }
+
+        this.record.append(KEYWORD_SUGGESTIONS_END).append(KEYWORD_OBJECT_END).writeTo(this.output);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.output.close();
+    }
+
+    private void appendString(String text) {
+        this.record.append(QUOTE);
+
+        // runs of characters that need no escaping are copied in one go
+        int runStart = 0;
+        for (int index = 0; index < text.length(); index++) {
+            char symbol = text.charAt(index);
+
+            if (symbol == QUOTE || symbol == BACKSLASH || symbol < FIRST_PRINTABLE) {
+                this.record.append(text, runStart, index).append(BACKSLASH);
+                this.appendEscaped(symbol);
+                runStart = index + 1;
+            }
+        }
+
+        this.record.append(text, runStart, text.length()).append(QUOTE);
+    }
+
+    private void appendEscaped(char symbol) {
+        switch (symbol) {
+            case QUOTE, BACKSLASH -> this.record.append(symbol);
+            case '\n' -> this.record.append('n');
+            case '\r' -> this.record.append('r');
+            case '\t' -> this.record.append('t');
+            case '\b' -> this.record.append('b');
+            case '\f' -> this.record.append('f');
+            default -> {
+                this.record.append('u');
+                for (int shift = 3 * HEX_DIGIT_BITS; shift >= 0; shift -= HEX_DIGIT_BITS) {
+                    this.record.append(HEX_DIGITS.charAt(symbol >> shift & HEX_DIGIT_MASK));
+                }
+            }
+        }
+    }
+}
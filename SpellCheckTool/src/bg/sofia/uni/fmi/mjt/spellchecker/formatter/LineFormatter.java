@@ -6,18 +6,18 @@ import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
 import java.util.List;
 
 public class LineFormatter {
-    private static final String KEYWORD_METADATA_HEADER = "= = = Metadata = = =";
-    private static final String KEYWORD_FINDINGS_HEADER = "= = = Findings = = =";
-    private static final String KEYWORD_METADATA_CHARACTERS = " characters, ";
-    private static final String KEYWORD_METADATA_WORDS = " words, ";
-    private static final String KEYWORD_METADATA_ISSUES = " spelling issue(s) found";
-    private static final String KEYWORD_LINE_NUMBER = "Line #";
-    private static final String KEYWORD_WORD_OPENING_BRACKET = ", {";
-    private static final String KEYWORD_WORD_CLOSING_BRACKET = "} - ";
-    private static final String KEYWORD_SUGGESTIONS = "Possible suggestions are {";
-    private static final String KEYWORD_CLOSING_BRACKET = "}";
-    private static final String KEYWORD_COMMA = ",";
-    private static final String KEYWORD_SPACE = " ";
+    static final String KEYWORD_METADATA_HEADER = "= = = Metadata = = =";
+    static final String KEYWORD_FINDINGS_HEADER = "= = = Findings = = =";
+    static final String KEYWORD_METADATA_CHARACTERS = " characters, ";
+    static final String KEYWORD_METADATA_WORDS = " words, ";
+    static final String KEYWORD_METADATA_ISSUES = " spelling issue(s) found";
+    static final String KEYWORD_LINE_NUMBER = "Line #";
+    static final String KEYWORD_WORD_OPENING_BRACKET = ", {";
+    static final String KEYWORD_WORD_CLOSING_BRACKET = "} - ";
+    static final String KEYWORD_SUGGESTIONS = "Possible suggestions are {";
+    static final String KEYWORD_CLOSING_BRACKET = "}";
+    static final String KEYWORD_COMMA = ",";
+    static final String KEYWORD_SPACE = " ";
 
 
     public String getMetadataHeader() {
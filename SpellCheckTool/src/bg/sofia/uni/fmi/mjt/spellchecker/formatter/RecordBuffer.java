@@ -0,0 +1,74 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.formatter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Reusable characters a record of a report is put together in, so the output gets it in one write.
+ */
+final class RecordBuffer {
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MAX_INT_LENGTH = 11;
+    private static final int RADIX = 10;
+    private char[] characters = new char[INITIAL_CAPACITY];
+    private int length;
+
+    RecordBuffer append(String text) {
+        this.ensureRoom(text.length());
+        text.getChars(0, text.length(), this.characters, this.length);
+        this.length += text.length();
+
+        return this;
+    }
+
+    RecordBuffer append(String text, int start, int end) {
+        this.ensureRoom(end - start);
+        text.getChars(start, end, this.characters, this.length);
+        this.length += end - start;
+
+        return this;
+    }
+
+    RecordBuffer append(char symbol) {
+        this.ensureRoom(1);
+        this.characters[this.length++] = symbol;
+
+        return this;
+    }
+
+    RecordBuffer append(int value) {
+        this.ensureRoom(MAX_INT_LENGTH);
+        long remaining = Math.abs((long) value);
+        int digits = 1;
+        for (long bound = RADIX; bound <= remaining; bound *= RADIX) {
+            digits++;
+        }
+
+        if (value < 0) {
+            this.characters[this.length++] = '-';
+        }
+        for (int position = this.length + digits - 1; position >= this.length; position--) {
+            this.characters[position] = (char) ('0' + remaining % RADIX);
+            remaining /= RADIX;
+        }
+        this.length += digits;
+
+        return this;
+    }
+
+    /**
+     * Writes the record to {@code output} and empties the buffer for the next one.
+     */
+    void writeTo(Writer output) throws IOException {
+        output.write(this.characters, 0, this.length);
+        this.length = 0;
+    }
+
+    private void ensureRoom(int characterCount) {
+        if (this.length + characterCount > this.characters.length) {
+            this.characters = Arrays.copyOf(this.characters,
+                    Math.max(this.characters.length * 2, this.length + characterCount));
+        }
+    }
+}
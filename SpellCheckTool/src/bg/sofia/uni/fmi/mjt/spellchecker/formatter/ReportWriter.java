@@ -0,0 +1,27 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.formatter;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.Metadata;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Receives the report of an analysis: the metadata of the text first, then its findings in line order.
+ * Every part is written straight into the output as it comes, without being built as a string first.
+ * Whoever creates a report writer closes it; {@link #flush()} makes everything written so far reach the output.
+ */
+public interface ReportWriter extends Flushable, Closeable {
+
+    /**
+     * Returns the writer the analyzed text is copied to before the report, or {@code null} if the format
+     * leaves the text out.
+     */
+    Writer getTextEcho();
+
+    void writeMetadata(Metadata metadata) throws IOException;
+
+    void writeFinding(int lineNumber, String word, List<String> suggestions) throws IOException;
+}
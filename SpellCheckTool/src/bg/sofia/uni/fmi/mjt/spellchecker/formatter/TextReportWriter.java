@@ -0,0 +1,75 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.formatter;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.Metadata;
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes the human-readable report of {@link LineFormatter} into the output, after the analyzed text, which is
+ * copied to the same output. Every record is put together in a reusable buffer instead of a string.
+ */
+public class TextReportWriter implements ReportWriter {
+    private final Writer output;
+    private final RecordBuffer record = new RecordBuffer();
+
+    public TextReportWriter(Writer output) {
+        Validator.validateNotNull(output, "output");
+
+        this.output = output;
+    }
+
+    @Override
+    public Writer getTextEcho() {
+        return this.output;
+    }
+
+    @Override
+    public void writeMetadata(Metadata metadata) throws IOException {
+        Validator.validateNotNull(metadata, "metadata");
+
+        this.record.append(System.lineSeparator())
+                .append(LineFormatter.KEYWORD_METADATA_HEADER)
+                .append(System.lineSeparator())
+                .append(metadata.characters()).append(LineFormatter.KEYWORD_METADATA_CHARACTERS)
+                .append(metadata.words()).append(LineFormatter.KEYWORD_METADATA_WORDS)
+                .append(metadata.mistakes()).append(LineFormatter.KEYWORD_METADATA_ISSUES)
+                .append(System.lineSeparator())
+                .append(LineFormatter.KEYWORD_FINDINGS_HEADER)
+                .writeTo(this.output);
+    }
+
+    @Override
+    public void writeFinding(int lineNumber, String word, List<String> suggestions) throws IOException {
+        Validator.validateNotNull(word, "word");
+        Validator.validateNotNull(suggestions, "suggestions");
+        Validator.validatePositive(lineNumber);
+
+        this.record.append(System.lineSeparator())
+                .append(LineFormatter.KEYWORD_LINE_NUMBER).append(lineNumber)
+                .append(LineFormatter.KEYWORD_WORD_OPENING_BRACKET).append(word)
+                .append(LineFormatter.KEYWORD_WORD_CLOSING_BRACKET)
+                .append(LineFormatter.KEYWORD_SUGGESTIONS);
+
+        for (int index = 0; index < suggestions.size(); index++) {
+            if (index > 0) {
+                this.record.append(LineFormatter.KEYWORD_COMMA).append(LineFormatter.KEYWORD_SPACE);
+            }
+            this.record.append(suggestions.get(index));
+        }
+
+        this.record.append(LineFormatter.KEYWORD_CLOSING_BRACKET).writeTo(this.output);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.output.close();
+    }
+}
@@ -0,0 +1,58 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Lock-free histogram of latencies with one bucket per power of two nanoseconds.
+ * Percentiles are reported as the upper bound of their bucket, so they are accurate within a factor of two,
+ * which is enough to notice a regression.
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS = Long.SIZE;
+    private static final double MEDIAN = 0.5;
+    private static final double P99 = 0.99;
+    private final AtomicLongArray counts;
+    private final LongAccumulator max;
+
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.max = new LongAccumulator(Math::max, 0);
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+
+        this.counts.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(value));
+        this.max.accumulate(value);
+    }
+
+    public LatencySummary summarize() {
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            snapshot[bucket] = this.counts.get(bucket);
+            count += snapshot[bucket];
+        }
+
+        long max = this.max.get();
+        return new LatencySummary(count, Math.min(percentile(snapshot, count, MEDIAN), max),
+                Math.min(percentile(snapshot, count, P99), max), max);
+    }
+
+    private static long percentile(long[] counts, long count, double quantile) {
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+
+            if (seen >= rank && seen > 0) {
+                return (1L << bucket) - 1;
+            }
+        }
+
+        return 0;
+    }
+}
@@ -0,0 +1,4 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.metrics;
+
+public record LatencySummary(long count, long medianNanos, long p99Nanos, long maxNanos) {
+}
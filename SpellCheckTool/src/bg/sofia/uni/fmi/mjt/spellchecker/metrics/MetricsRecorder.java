@@ -0,0 +1,69 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.metrics;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.enums.WordType;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listener that aggregates the pipeline events into counters and latency histograms.
+ * Rates are computed over the time since the recorder was created.
+ */
+public class MetricsRecorder implements PipelineListener {
+    private final long startNanos;
+    private final LongAdder lines;
+    private final LongAdder words;
+    private final LongAdder mistakes;
+    private final LongAdder suggestionQueries;
+    private final LongAdder scoredCandidates;
+    private final LongAdder charactersWritten;
+    private final LatencyHistogram lineLatency;
+    private final LatencyHistogram classificationLatency;
+    private final LatencyHistogram suggestionLatency;
+
+    public MetricsRecorder() {
+        this.startNanos = System.nanoTime();
+        this.lines = new LongAdder();
+        this.words = new LongAdder();
+        this.mistakes = new LongAdder();
+        this.suggestionQueries = new LongAdder();
+        this.scoredCandidates = new LongAdder();
+        this.charactersWritten = new LongAdder();
+        this.lineLatency = new LatencyHistogram();
+        this.classificationLatency = new LatencyHistogram();
+        this.suggestionLatency = new LatencyHistogram();
+    }
+
+    @Override
+    public void lineAnalyzed(int characters, long nanos) {
+        this.lines.increment();
+        this.lineLatency.record(nanos);
+    }
+
+    @Override
+    public void wordClassified(WordType type, long nanos) {
+        this.words.increment();
+        if (type == WordType.WRONG_WORD) {
+            this.mistakes.increment();
+        }
+        this.classificationLatency.record(nanos);
+    }
+
+    @Override
+    public void closestWordsFound(int scoredCandidates, long nanos) {
+        this.suggestionQueries.increment();
+        this.scoredCandidates.add(scoredCandidates);
+        this.suggestionLatency.record(nanos);
+    }
+
+    @Override
+    public void outputWritten(int characters) {
+        this.charactersWritten.add(characters);
+    }
+
+    public PipelineMetrics snapshot() {
+        return new PipelineMetrics(this.lines.sum(), this.words.sum(), this.mistakes.sum(),
+                this.suggestionQueries.sum(), this.scoredCandidates.sum(), this.charactersWritten.sum(),
+                this.lineLatency.summarize(), this.classificationLatency.summarize(),
+                this.suggestionLatency.summarize(), System.nanoTime() - this.startNanos);
+    }
+}
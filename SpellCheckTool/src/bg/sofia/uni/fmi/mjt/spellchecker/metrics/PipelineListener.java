@@ -0,0 +1,26 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.metrics;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.enums.WordType;
+
+/**
+ * Receives what happens inside the checking pipeline.
+ * Every method is called on the thread doing the work, possibly by many threads at once.
+ * The pipeline compares the listener with {@link #NONE} before reading any clock, so the default
+ * costs a single reference comparison per event.
+ */
+public interface PipelineListener {
+    PipelineListener NONE = new PipelineListener() {
+    };
+
+    default void lineAnalyzed(int characters, long nanos) {
+    }
+
+    default void wordClassified(WordType type, long nanos) {
+    }
+
+    default void closestWordsFound(int scoredCandidates, long nanos) {
+    }
+
+    default void outputWritten(int characters) {
+    }
+}
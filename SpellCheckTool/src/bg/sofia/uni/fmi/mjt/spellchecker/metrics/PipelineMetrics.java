@@ -0,0 +1,24 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.metrics;
+
+public record PipelineMetrics(long lines, long words, long mistakes, long suggestionQueries, long scoredCandidates,
+                              long charactersWritten, LatencySummary lineLatency,
+                              LatencySummary classificationLatency, LatencySummary suggestionLatency,
+                              long elapsedNanos) {
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    public double linesPerSecond() {
+        return this.perSecond(this.lines);
+    }
+
+    public double wordsPerSecond() {
+        return this.perSecond(this.words);
+    }
+
+    public double candidatesPerQuery() {
+        return this.suggestionQueries == 0 ? 0 : (double) this.scoredCandidates / this.suggestionQueries;
+    }
+
+    private double perSecond(long count) {
+        return this.elapsedNanos == 0 ? 0 : count * NANOS_PER_SECOND / this.elapsedNanos;
+    }
+}
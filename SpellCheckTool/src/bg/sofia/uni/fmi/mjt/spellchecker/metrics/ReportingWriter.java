@@ -0,0 +1,39 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.metrics;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Passes everything through to the wrapped writer and reports the number of characters written.
+ */
+public class ReportingWriter extends FilterWriter {
+    private final PipelineListener listener;
+
+    public ReportingWriter(Writer output, PipelineListener listener) {
+        super(output);
+        Validator.validateNotNull(listener, "listener");
+
+        this.listener = listener;
+    }
+
+    @Override
+    public void write(int symbol) throws IOException {
+        super.write(symbol);
+        this.listener.outputWritten(1);
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) throws IOException {
+        super.write(buffer, offset, length);
+        this.listener.outputWritten(length);
+    }
+
+    @Override
+    public void write(String text, int offset, int length) throws IOException {
+        super.write(text, offset, length);
+        this.listener.outputWritten(length);
+    }
+}
@@ -0,0 +1,47 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.output;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.time.Duration;
+
+/**
+ * When a {@link FlushingWriter} flushes the writer it wraps: once {@code maxPendingCharacters} have been
+ * written since the last flush, once {@code maxPendingNanos} have passed since then (checked on every write), or
+ * only when it is flushed or closed explicitly if both are {@link Long#MAX_VALUE}.
+ */
+public record FlushPolicy(long maxPendingCharacters, long maxPendingNanos) {
+    private static final int DEFAULT_PENDING_CHARACTERS = 1 << 16;
+    private static final String KEYWORD_NOT_POSITIVE = " must be positive.";
+    public static final FlushPolicy DEFAULT = everyCharacters(DEFAULT_PENDING_CHARACTERS);
+
+    public FlushPolicy {
+        if (maxPendingCharacters <= 0) {
+            throw new IllegalArgumentException("maxPendingCharacters" + KEYWORD_NOT_POSITIVE);
+        }
+        if (maxPendingNanos <= 0) {
+            throw new IllegalArgumentException("maxPendingNanos" + KEYWORD_NOT_POSITIVE);
+        }
+    }
+
+    public static FlushPolicy everyCharacters(long characters) {
+        return new FlushPolicy(characters, Long.MAX_VALUE);
+    }
+
+    public static FlushPolicy every(Duration interval) {
+        Validator.validateNotNull(interval, "interval");
+
+        return new FlushPolicy(Long.MAX_VALUE, interval.toNanos());
+    }
+
+    public static FlushPolicy atEnd() {
+        return new FlushPolicy(Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    boolean shouldFlush(long pendingCharacters, long pendingNanos) {
+        return pendingCharacters >= this.maxPendingCharacters || pendingNanos >= this.maxPendingNanos;
+    }
+
+    boolean isTimed() {
+        return this.maxPendingNanos != Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,122 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.output;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Collects written characters in a large buffer, hands them to the wrapped writer only when the buffer fills up,
+ * and flushes the wrapped writer as its {@link FlushPolicy} says. Writes larger than the buffer go straight
+ * through. An explicit {@link #flush()} or {@link #close()} always empties the buffer and flushes.
+ * The characters reaching the wrapped writer are exactly those written, in the same order.
+ */
+public class FlushingWriter extends Writer {
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private final Writer output;
+    private final FlushPolicy flushPolicy;
+    private final char[] buffer;
+    private int buffered;
+    private long pendingCharacters;
+    private long lastFlushNanos;
+    private boolean closed;
+
+    public FlushingWriter(Writer output, FlushPolicy flushPolicy) {
+        this(output, flushPolicy, DEFAULT_BUFFER_SIZE);
+    }
+
+    public FlushingWriter(Writer output, FlushPolicy flushPolicy, int bufferSize) {
+        Validator.validateNotNull(output, "output");
+        Validator.validateNotNull(flushPolicy, "flushPolicy");
+        Validator.validatePositive(bufferSize);
+
+        this.output = output;
+        this.flushPolicy = flushPolicy;
+        this.buffer = new char[Math.max(bufferSize, 1)];
+        this.lastFlushNanos = flushPolicy.isTimed() ? System.nanoTime() : 0;
+    }
+
+    @Override
+    public void write(int symbol) throws IOException {
+        if (this.buffered == this.buffer.length) {
+            this.drain();
+        }
+        this.buffer[this.buffered++] = (char) symbol;
+
+        this.written(1);
+    }
+
+    @Override
+    public void write(char[] text, int offset, int length) throws IOException {
+        if (length >= this.buffer.length) {
+            this.drain();
+            this.output.write(text, offset, length);
+        } else {
+            if (length > this.buffer.length - this.buffered) {
+                this.drain();
+            }
+            System.arraycopy(text, offset, this.buffer, this.buffered, length);
+            this.buffered += length;
+        }
+
+        this.written(length);
+    }
+
+    @Override
+    public void write(String text, int offset, int length) throws IOException {
+        if (length >= this.buffer.length) {
+            this.drain();
+            this.output.write(text, offset, length);
+        } else {
+            if (length > this.buffer.length - this.buffered) {
+                this.drain();
+            }
+            text.getChars(offset, offset + length, this.buffer, this.buffered);
+            this.buffered += length;
+        }
+
+        this.written(length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (this.closed) {
+            return;
+        }
+
+        this.drain();
+        this.output.flush();
+        this.pendingCharacters = 0;
+        this.lastFlushNanos = this.flushPolicy.isTimed() ? System.nanoTime() : 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+
+        try {
+            this.flush();
+        } finally {
+            this.closed = true;
+            this.output.close();
+        }
+    }
+
+    private void written(int length) throws IOException {
+        this.pendingCharacters += length;
+        long pendingNanos = this.flushPolicy.isTimed() ? System.nanoTime() - this.lastFlushNanos : 0;
+
+        if (this.flushPolicy.shouldFlush(this.pendingCharacters, pendingNanos)) {
+            this.flush();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (this.buffered > 0) {
+            this.output.write(this.buffer, 0, this.buffered);
+            this.buffered = 0;
+        }
+    }
+}
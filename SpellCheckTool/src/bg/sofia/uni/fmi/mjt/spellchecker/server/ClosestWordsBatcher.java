@@ -0,0 +1,133 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.server;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.SpellChecker;
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Answers concurrent {@link SpellChecker#findClosestWords} queries in batches on a thread of its own.
+ * Whatever is queued while a batch is being answered makes up the next one, so batches only grow under load and
+ * a lone query is answered right away. Queries asking for the same word and count are computed once per batch,
+ * and the distinct ones of a batch are computed in parallel.
+ * A query that would overfill the queue is rejected at once instead of waiting.
+ */
+public class ClosestWordsBatcher implements Closeable {
+    private static final String KEYWORD_QUEUE_FULL = "too many closest words queries are waiting.";
+    private static final String KEYWORD_CLOSED = "the batcher is closed.";
+    private final SpellChecker spellChecker;
+    private final BlockingQueue<Query> queue;
+    private final int maxBatchSize;
+    private final Thread thread;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder computedQueries = new LongAdder();
+    private volatile boolean closed;
+
+    private record Key(String word, int n) { }
+
+    private record Query(Key key, CompletableFuture<List<String>> result) { }
+
+    public ClosestWordsBatcher(SpellChecker spellChecker, int maxQueuedQueries, int maxBatchSize) {
+        Validator.validateNotNull(spellChecker, "spellChecker");
+        Validator.validatePositive(maxQueuedQueries);
+        Validator.validatePositive(maxBatchSize);
+
+        this.spellChecker = spellChecker;
+        this.queue = new ArrayBlockingQueue<>(Math.max(maxQueuedQueries, 1));
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+        this.thread = new Thread(this::answerBatches, "closest-words-batcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues the query and returns its future answer.
+     *
+     * @throws RejectedExecutionException if the queue is full or the batcher is closed
+     */
+    public CompletableFuture<List<String>> submit(String word, int n) {
+        Validator.validateNotNull(word, "word");
+        Validator.validatePositive(n);
+
+        if (this.closed) {
+            throw new RejectedExecutionException(KEYWORD_CLOSED);
+        }
+
+        Query query = new Query(new Key(word, n), new CompletableFuture<>());
+        if (!this.queue.offer(query)) {
+            throw new RejectedExecutionException(KEYWORD_QUEUE_FULL);
+        }
+
+        return query.result();
+    }
+
+    public long getBatchCount() {
+        return this.batches.sum();
+    }
+
+    /**
+     * Returns how many queries were computed, counting those asked for together in a batch once.
+     */
+    public long getComputedQueryCount() {
+        return this.computedQueries.sum();
+    }
+
+    /**
+     * Stops answering; queries still waiting complete with a {@link CancellationException}.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        this.thread.interrupt();
+
+        Query query;
+        while ((query = this.queue.poll()) != null) {
+            query.result().cancel(false);
+        }
+    }
+
+    private void answerBatches() {
+        List<Query> batch = new ArrayList<>(this.maxBatchSize);
+
+        while (!this.closed) {
+            try {
+                batch.add(this.queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            this.queue.drainTo(batch, this.maxBatchSize - 1);
+            this.answer(batch);
+            batch.clear();
+        }
+    }
+
+    private void answer(List<Query> batch) {
+        Map<Key, List<CompletableFuture<List<String>>>> waiting = new LinkedHashMap<>();
+        for (Query query : batch) {
+            waiting.computeIfAbsent(query.key(), key -> new ArrayList<>()).add(query.result());
+        }
+
+        this.batches.increment();
+        this.computedQueries.add(waiting.size());
+
+        waiting.entrySet().parallelStream().forEach(entry -> {
+            try {
+                List<String> words = this.spellChecker.findClosestWords(entry.getKey().word(), entry.getKey().n());
+                entry.getValue().forEach(result -> result.complete(words));
+            } catch (RuntimeException e) {
+                entry.getValue().forEach(result -> result.completeExceptionally(e));
+            }
+        });
+    }
+}
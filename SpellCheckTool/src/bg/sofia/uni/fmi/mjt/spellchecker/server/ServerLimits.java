@@ -0,0 +1,26 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.server;
+
+/**
+ * How much work a {@link SpellCheckServer} takes on: {@code workers} threads analyze texts, at most
+ * {@code maxQueuedRequests} texts and as many closest words queries wait for them, and at most
+ * {@code maxBatchSize} queued queries are answered together. Requests beyond that are turned away at once.
+ */
+public record ServerLimits(int workers, int maxQueuedRequests, int maxBatchSize) {
+    private static final int DEFAULT_QUEUED_REQUESTS = 256;
+    private static final int DEFAULT_BATCH_SIZE = 64;
+    private static final String KEYWORD_NOT_POSITIVE = " must be positive.";
+    public static final ServerLimits DEFAULT = new ServerLimits(Runtime.getRuntime().availableProcessors(),
+            DEFAULT_QUEUED_REQUESTS, DEFAULT_BATCH_SIZE);
+
+    public ServerLimits {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("workers" + KEYWORD_NOT_POSITIVE);
+        }
+        if (maxQueuedRequests <= 0) {
+            throw new IllegalArgumentException("maxQueuedRequests" + KEYWORD_NOT_POSITIVE);
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize" + KEYWORD_NOT_POSITIVE);
+        }
+    }
+}
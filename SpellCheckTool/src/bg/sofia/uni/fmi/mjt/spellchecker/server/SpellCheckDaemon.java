@@ -0,0 +1,31 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.server;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.NaiveSpellChecker;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Keeps a checker warm in a long-running process: {@code SpellCheckDaemon <snapshot file> [port]} loads a snapshot
+ * written by {@link NaiveSpellChecker#writeSnapshot} and serves it with a {@link SpellCheckServer} until the
+ * process is stopped.
+ */
+public class SpellCheckDaemon {
+    private static final int DEFAULT_PORT = 8085;
+    private static final String KEYWORD_USAGE = "usage: SpellCheckDaemon <snapshot file> [port]";
+    private static final String KEYWORD_LISTENING = "spell checker listening on 127.0.0.1:";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            throw new IllegalArgumentException(KEYWORD_USAGE);
+        }
+
+        NaiveSpellChecker spellChecker = NaiveSpellChecker.fromSnapshot(Path.of(args[0]));
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+        SpellCheckServer server = new SpellCheckServer(spellChecker, port);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.start();
+        System.out.println(KEYWORD_LISTENING + server.getPort());
+    }
+}
@@ -0,0 +1,329 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.server;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.Metadata;
+import bg.sofia.uni.fmi.mjt.spellchecker.NaiveSpellChecker;
+import bg.sofia.uni.fmi.mjt.spellchecker.formatter.BinaryReportWriter;
+import bg.sofia.uni.fmi.mjt.spellchecker.formatter.JsonLinesReportWriter;
+import bg.sofia.uni.fmi.mjt.spellchecker.formatter.ReportWriter;
+import bg.sofia.uni.fmi.mjt.spellchecker.formatter.TextReportWriter;
+import bg.sofia.uni.fmi.mjt.spellchecker.output.FlushPolicy;
+import bg.sofia.uni.fmi.mjt.spellchecker.output.FlushingWriter;
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves a warm {@link NaiveSpellChecker} over HTTP on the loopback interface:
+ * <ul>
+ *     <li>{@code POST /analyze?suggestions=3&format=text} analyzes the request body and answers with the report
+ *     as {@code text}, {@code jsonl} or {@code binary}, see the {@link ReportWriter} implementations;</li>
+ *     <li>{@code POST /metadata} answers with the metadata of the request body as a JSON line;</li>
+ *     <li>{@code GET /closest?word=helllo&n=3} answers with the closest words, one per line.</li>
+ * </ul>
+ * Texts are analyzed on the threads of the server, at most {@link ServerLimits#workers()} at a time, and closest
+ * words queries go to a {@link ClosestWordsBatcher}. Whatever does not fit the queues within {@link ServerLimits}
+ * is answered with 503 right away, malformed requests with 400. A report that fails after its first bytes went
+ * out drops the connection, so the client never takes a truncated report for a complete one.
+ */
+public class SpellCheckServer implements Closeable {
+    private static final int STATUS_OK = 200;
+    private static final int STATUS_BAD_REQUEST = 400;
+    private static final int STATUS_NOT_FOUND = 404;
+    private static final int STATUS_METHOD_NOT_ALLOWED = 405;
+    private static final int STATUS_INTERNAL_ERROR = 500;
+    private static final int STATUS_UNAVAILABLE = 503;
+    private static final int NO_BODY = -1;
+    private static final int NO_RESPONSE = -1;
+    private static final int CHUNKED_BODY = 0;
+    private static final int DEFAULT_SUGGESTIONS = 3;
+    private static final int STOP_DELAY_SECONDS = 1;
+    private static final int IDLE_THREAD_SECONDS = 60;
+    private static final String METHOD_GET = "GET";
+    private static final String METHOD_POST = "POST";
+    private static final String HEADER_CONTENT_TYPE = "Content-Type";
+    private static final String HEADER_RETRY_AFTER = "Retry-After";
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private static final String TYPE_TEXT = "text/plain; charset=utf-8";
+    private static final String TYPE_JSON_LINES = "application/x-ndjson";
+    private static final String TYPE_BINARY = "application/octet-stream";
+    private static final String FORMAT_TEXT = "text";
+    private static final String FORMAT_JSON_LINES = "jsonl";
+    private static final String FORMAT_BINARY = "binary";
+    private static final String PARAMETER_SUGGESTIONS = "suggestions";
+    private static final String PARAMETER_FORMAT = "format";
+    private static final String PARAMETER_WORD = "word";
+    private static final String PARAMETER_N = "n";
+    private static final String KEYWORD_NOT_A_NUMBER = " is not a number.";
+    private static final String KEYWORD_UNKNOWN_FORMAT = "unknown format ";
+    private final NaiveSpellChecker spellChecker;
+    private final HttpServer server;
+    private final ThreadPoolExecutor workers;
+    private final int maxPendingRequests;
+    private final Semaphore admitted;
+    private final Semaphore running;
+    private final ClosestWordsBatcher batcher;
+
+    @FunctionalInterface
+    private interface ExchangeHandler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+
+    public SpellCheckServer(NaiveSpellChecker spellChecker, int port) throws IOException {
+        this(spellChecker, port, ServerLimits.DEFAULT);
+    }
+
+    /**
+     * Creates a server on {@code port} of the loopback interface, or on any free port if it is 0. It does not
+     * accept requests before {@link #start()}.
+     */
+    public SpellCheckServer(NaiveSpellChecker spellChecker, int port, ServerLimits limits) throws IOException {
+        Validator.validateNotNull(spellChecker, "spellChecker");
+        Validator.validatePositive(port);
+        Validator.validateNotNull(limits, "limits");
+
+        this.spellChecker = spellChecker;
+        // admitted texts and answered queries take a thread each and as many are left for turning requests away,
+        // connections beyond that are closed by the server itself
+        this.workers = new ThreadPoolExecutor(0, 2 * (limits.workers() + limits.maxQueuedRequests()),
+                IDLE_THREAD_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<>());
+        this.maxPendingRequests = limits.workers() + limits.maxQueuedRequests();
+        this.admitted = new Semaphore(this.maxPendingRequests);
+        this.running = new Semaphore(limits.workers());
+        this.batcher = new ClosestWordsBatcher(spellChecker, limits.maxQueuedRequests(), limits.maxBatchSize());
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.createContext("/analyze", exchange -> this.admit(exchange, METHOD_POST, this::analyze));
+        this.server.createContext("/metadata", exchange -> this.admit(exchange, METHOD_POST, this::metadata));
+        this.server.createContext("/closest", this::closest);
+        this.server.createContext("/", exchange -> respondWithStatus(exchange, STATUS_NOT_FOUND));
+        this.server.setExecutor(this.workers);
+    }
+
+    public void start() {
+        this.server.start();
+    }
+
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Returns how many texts are being analyzed or wait for a worker.
+     */
+    public int getPendingRequests() {
+        return this.maxPendingRequests - this.admitted.availablePermits();
+    }
+
+    public ClosestWordsBatcher getBatcher() {
+        return this.batcher;
+    }
+
+    @Override
+    public void close() {
+        this.server.stop(STOP_DELAY_SECONDS);
+        this.batcher.close();
+        this.workers.shutdown();
+    }
+
+    private void admit(HttpExchange exchange, String method, ExchangeHandler handler) throws IOException {
+        if (!method.equals(exchange.getRequestMethod())) {
+            respondWithStatus(exchange, STATUS_METHOD_NOT_ALLOWED);
+            return;
+        }
+        if (!this.admitted.tryAcquire()) {
+            respondUnavailable(exchange);
+            return;
+        }
+
+        try {
+            this.running.acquireUninterruptibly();
+            try {
+                handle(exchange, handler);
+            } finally {
+                this.running.release();
+            }
+        } finally {
+            this.admitted.release();
+        }
+    }
+
+    private void analyze(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = parseQuery(exchange);
+        int suggestions = parseInt(parameters, PARAMETER_SUGGESTIONS, DEFAULT_SUGGESTIONS);
+        String format = parameters.getOrDefault(PARAMETER_FORMAT, FORMAT_TEXT);
+        Validator.validatePositive(suggestions);
+
+        ReportWriter report = switch (format) {
+            case FORMAT_TEXT -> new TextReportWriter(responseWriter(exchange, TYPE_TEXT));
+            case FORMAT_JSON_LINES -> new JsonLinesReportWriter(responseWriter(exchange, TYPE_JSON_LINES));
+            case FORMAT_BINARY -> new BinaryReportWriter(responseStream(exchange, TYPE_BINARY));
+            default -> throw new IllegalArgumentException(KEYWORD_UNKNOWN_FORMAT + format);
+        };
+
+        try (Reader text = requestReader(exchange)) {
+            this.spellChecker.analyze(text, report, suggestions);
+        }
+        // closing the report ends the response, so a failed analysis must not get here
+        report.close();
+    }
+
+    private void metadata(HttpExchange exchange) throws IOException {
+        Metadata metadata;
+        try (Reader text = requestReader(exchange)) {
+            metadata = this.spellChecker.metadata(text);
+        }
+
+        try (ReportWriter report = new JsonLinesReportWriter(responseWriter(exchange, TYPE_JSON_LINES))) {
+            report.writeMetadata(metadata);
+        }
+    }
+
+    private void closest(HttpExchange exchange) {
+        if (!METHOD_GET.equals(exchange.getRequestMethod())) {
+            respondWithStatus(exchange, STATUS_METHOD_NOT_ALLOWED);
+            return;
+        }
+
+        try {
+            Map<String, String> parameters = parseQuery(exchange);
+            String word = parameters.get(PARAMETER_WORD);
+            Validator.validateNotNull(word, PARAMETER_WORD);
+
+            // the batcher only computes, a slow client must not hold up the queries batched after it
+            this.batcher.submit(word, parseInt(parameters, PARAMETER_N, DEFAULT_SUGGESTIONS))
+                    .whenComplete((words, failure) -> this.answer(exchange, words, failure));
+        } catch (IllegalArgumentException e) {
+            respondWithStatus(exchange, STATUS_BAD_REQUEST);
+        } catch (RejectedExecutionException e) {
+            respondUnavailable(exchange);
+        }
+    }
+
+    private void answer(HttpExchange exchange, List<String> words, Throwable failure) {
+        try {
+            this.workers.execute(() -> writeWords(exchange, words, failure));
+        } catch (RejectedExecutionException e) {
+            respondUnavailable(exchange);
+        }
+    }
+
+    private static void writeWords(HttpExchange exchange, List<String> words, Throwable failure) {
+        if (failure != null) {
+            respondWithStatus(exchange, STATUS_INTERNAL_ERROR);
+            return;
+        }
+
+        try (Writer output = responseWriter(exchange, TYPE_TEXT)) {
+            for (String word : words) {
+                output.write(word);
+                output.write('\n');
+            }
+        } catch (IOException e) {
+            // the client is gone, there is no one left to answer
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Runs {@code handler} on the thread of the server. Failures before the response started are answered with
+     * a status, later ones are rethrown so that the server drops the connection without ending the response.
+     */
+    private static void handle(HttpExchange exchange, ExchangeHandler handler) throws IOException {
+        try {
+            handler.handle(exchange);
+        } catch (IOException | RuntimeException e) {
+            if (exchange.getResponseCode() != NO_RESPONSE) {
+                throw e;
+            }
+            respondWithStatus(exchange, e instanceof IllegalArgumentException
+                    ? STATUS_BAD_REQUEST : STATUS_INTERNAL_ERROR);
+            return;
+        }
+
+        exchange.close();
+    }
+
+    private static Reader requestReader(HttpExchange exchange) {
+        return new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8);
+    }
+
+    private static Writer responseWriter(HttpExchange exchange, String contentType) throws IOException {
+        return new FlushingWriter(new OutputStreamWriter(responseStream(exchange, contentType),
+                StandardCharsets.UTF_8), FlushPolicy.DEFAULT);
+    }
+
+    private static OutputStream responseStream(HttpExchange exchange, String contentType) throws IOException {
+        exchange.getResponseHeaders().set(HEADER_CONTENT_TYPE, contentType);
+        exchange.sendResponseHeaders(STATUS_OK, CHUNKED_BODY);
+
+        return exchange.getResponseBody();
+    }
+
+    private static void respondUnavailable(HttpExchange exchange) {
+        exchange.getResponseHeaders().set(HEADER_RETRY_AFTER, RETRY_AFTER_SECONDS);
+        respondWithStatus(exchange, STATUS_UNAVAILABLE);
+    }
+
+    private static void respondWithStatus(HttpExchange exchange, int status) {
+        try {
+            exchange.sendResponseHeaders(status, NO_BODY);
+        } catch (IOException e) {
+            // the headers already went out or the client is gone, either way there is no one left to tell
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static Map<String, String> parseQuery(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return parameters;
+        }
+
+        for (String parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+            String name = separator < 0 ? parameter : parameter.substring(0, separator);
+            String value = separator < 0 ? "" : parameter.substring(separator + 1);
+
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+
+        return parameters;
+    }
+
+    private static int parseInt(Map<String, String> parameters, String name, int defaultValue) {
+        String value = parameters.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + KEYWORD_NOT_A_NUMBER);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.snapshot;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.algorithm.BigramIndex;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Lexicon;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.SymbolTable;
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Everything a spell checker derives from its dictionary and stop words: the symbol table,
+ * the case-folded lexicon and the bigram similarity index.
+ * It can be written to a versioned binary file and memory-mapped back without re-parsing the word lists. The file
+ * is replaced atomically, so a reader never maps a half-written one.
+ * A snapshot never changes: {@link #withWords} and {@link #withoutWords} derive new ones that share the
+ * unchanged parts, so whoever still holds the old snapshot keeps seeing it whole.
+ * For very large dictionaries the lexicon and the words and vectors of the bigram index can be kept in direct memory,
+ * see {@link #offHeap} and {@link #load(Path, boolean)}; updated snapshots stay where their original was.
+ */
+public record DictionarySnapshot(SymbolTable metatextSymbols, Lexicon lexicon, BigramIndex bigramIndex) {
+    private static final int MAGIC = 0x53434453;
+    private static final int VERSION = 7;
+    private static final String KEYWORD_NOT_A_SNAPSHOT = " is not a dictionary snapshot.";
+    private static final String KEYWORD_UNSUPPORTED_VERSION = "unsupported snapshot version ";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    public DictionarySnapshot {
+        Validator.validateNotNull(metatextSymbols, "metatextSymbols");
+        Validator.validateNotNull(lexicon, "lexicon");
+        Validator.validateNotNull(bigramIndex, "bigramIndex");
+    }
+
+    /**
+     * Returns a snapshot that also knows {@code dictionaryWords}, or this one if it already knows all of them.
+     */
+    public DictionarySnapshot withWords(List<String> dictionaryWords) {
+        Validator.validateNotNull(dictionaryWords, "dictionaryWords");
+
+        List<String> added = dictionaryWords.stream()
+                .distinct()
+                .filter(word -> !this.bigramIndex.contains(word))
+                .toList();
+        if (added.isEmpty()) {
+            return this;
+        }
+
+        return new DictionarySnapshot(this.metatextSymbols.withWords(added), this.lexicon.withWords(added),
+                this.bigramIndex.withWords(added));
+    }
+
+    /**
+     * Returns a snapshot without {@code dictionaryWords}, or this one if it knows none of them.
+     */
+    public DictionarySnapshot withoutWords(List<String> dictionaryWords) {
+        Validator.validateNotNull(dictionaryWords, "dictionaryWords");
+
+        List<String> removed = dictionaryWords.stream()
+                .distinct()
+                .filter(this.bigramIndex::contains)
+                .toList();
+        if (removed.isEmpty()) {
+            return this;
+        }
+
+        return new DictionarySnapshot(this.metatextSymbols.withoutWords(removed), this.lexicon.withoutWords(removed),
+                this.bigramIndex.withoutWords(removed));
+    }
+
+    /**
+     * Returns this snapshot with its lexicon and bigram index moved to direct memory, or this one if they already
+     * are.
+     */
+    public DictionarySnapshot offHeap() {
+        Lexicon offHeapLexicon = this.lexicon.offHeap();
+        BigramIndex offHeapIndex = this.bigramIndex.offHeap();
+        if (offHeapLexicon == this.lexicon && offHeapIndex == this.bigramIndex) {
+            return this;
+        }
+
+        return new DictionarySnapshot(this.metatextSymbols, offHeapLexicon, offHeapIndex);
+    }
+
+    public void write(Path target) throws IOException {
+        Validator.validateNotNull(target, "target");
+
+        // written next to the target first, so that moving it over the target is a single rename
+        Path temporary = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(),
+                TEMPORARY_SUFFIX);
+        try {
+            try (var output = new SnapshotOutput(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                this.metatextSymbols.writeTo(output);
+                this.lexicon.writeTo(output);
+                this.bigramIndex.writeTo(output);
+            }
+
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    public static DictionarySnapshot load(Path source) throws IOException {
+        return load(source, false);
+    }
+
+    /**
+     * Loads a snapshot written by {@link #write}. If {@code offHeap}, the lexicon and the bigram index are read in
+     * place from the mapped file instead of being copied to the heap; the mapping lives as long as they do.
+     */
+    public static DictionarySnapshot load(Path source, boolean offHeap) throws IOException {
+        Validator.validateNotNull(source, "source");
+
+        try (var channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            SnapshotInput input = new SnapshotInput(buffer);
+
+            if (buffer.remaining() < 2 * Integer.BYTES || input.readInt() != MAGIC) {
+                throw new IllegalArgumentException(source + KEYWORD_NOT_A_SNAPSHOT);
+            }
+
+            int version = input.readInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException(KEYWORD_UNSUPPORTED_VERSION + version);
+            }
+
+            DictionarySnapshot snapshot;
+            try {
+                snapshot = new DictionarySnapshot(SymbolTable.readFrom(input), Lexicon.readFrom(input, offHeap),
+                        BigramIndex.readFrom(input, offHeap));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(source + KEYWORD_NOT_A_SNAPSHOT);
+            }
+
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException(source + KEYWORD_NOT_A_SNAPSHOT);
+            }
+
+            return snapshot;
+        }
+    }
+}
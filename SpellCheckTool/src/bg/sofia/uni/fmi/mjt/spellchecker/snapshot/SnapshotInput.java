@@ -0,0 +1,99 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.snapshot;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.storage.Buffers;
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Reads the sections written by {@link SnapshotOutput} from a (typically memory-mapped) buffer.
+ * Arrays are copied out to the heap with bulk gets instead of element by element. Sections asked for in direct
+ * memory are not copied at all when the buffer already is direct: they are read-only views of it, so a mapped file
+ * is used in place.
+ * Every length is checked against what is left of the buffer first, so a truncated or corrupt buffer fails with an
+ * {@link IllegalArgumentException} instead of reading past its end.
+ */
+public class SnapshotInput {
+    private static final String KEYWORD_PAST_THE_END = " bytes are left, too few for the next section.";
+    private final ByteBuffer buffer;
+
+    public SnapshotInput(ByteBuffer buffer) {
+        Validator.validateNotNull(buffer, "buffer");
+
+        this.buffer = buffer;
+    }
+
+    public int readInt() {
+        this.require(1, Integer.BYTES);
+
+        return this.buffer.getInt();
+    }
+
+    public int[] readInts() {
+        int[] values = new int[this.readLength(Integer.BYTES)];
+        this.buffer.asIntBuffer().get(values);
+        this.skip(values.length * Integer.BYTES);
+
+        return values;
+    }
+
+    public long[] readLongs() {
+        long[] values = new long[this.readLength(Long.BYTES)];
+        this.buffer.asLongBuffer().get(values);
+        this.skip(values.length * Long.BYTES);
+
+        return values;
+    }
+
+    public CharBuffer readCharBuffer(boolean direct) {
+        int length = this.readLength(Character.BYTES);
+        CharBuffer values = this.slice(length * Character.BYTES).asCharBuffer();
+
+        return direct && values.isDirect() ? values : Buffers.copyOf(values, length, direct);
+    }
+
+    public IntBuffer readIntBuffer(boolean direct) {
+        int length = this.readLength(Integer.BYTES);
+        IntBuffer values = this.slice(length * Integer.BYTES).asIntBuffer();
+
+        return direct && values.isDirect() ? values : Buffers.copyOf(values, length, direct);
+    }
+
+    public DoubleBuffer readDoubleBuffer(boolean direct) {
+        int length = this.readLength(Double.BYTES);
+        DoubleBuffer values = this.slice(length * Double.BYTES).asDoubleBuffer();
+
+        return direct && values.isDirect() ? values : Buffers.copyOf(values, length, direct);
+    }
+
+    private int readLength(int elementBytes) {
+        int length = this.readInt();
+        this.require(length, elementBytes);
+
+        return length;
+    }
+
+    private void require(int length, int elementBytes) {
+        if (length < 0 || length > this.buffer.remaining() / elementBytes) {
+            throw new IllegalArgumentException(this.buffer.remaining() + KEYWORD_PAST_THE_END);
+        }
+    }
+
+    /**
+     * Returns a read-only view of the next {@code bytes} bytes, in the byte order they were written in, and skips
+     * them.
+     */
+    private ByteBuffer slice(int bytes) {
+        ByteBuffer values = this.buffer.slice(this.buffer.position(), bytes).asReadOnlyBuffer();
+        this.skip(bytes);
+
+        return values;
+    }
+
+    private void skip(int bytes) {
+        this.buffer.position(this.buffer.position() + bytes);
+    }
+}
@@ -0,0 +1,69 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.snapshot;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Big-endian writer for the sections of a {@link DictionarySnapshot}.
+ * Arrays and buffers are written as their length followed by the elements, so they can be read back in bulk.
+ */
+public class SnapshotOutput implements Closeable {
+    private final DataOutputStream output;
+
+    public SnapshotOutput(OutputStream output) {
+        Validator.validateNotNull(output, "output");
+
+        this.output = new DataOutputStream(output);
+    }
+
+    public void writeInt(int value) throws IOException {
+        this.output.writeInt(value);
+    }
+
+    public void writeInts(int[] values) throws IOException {
+        this.output.writeInt(values.length);
+        for (int value : values) {
+            this.output.writeInt(value);
+        }
+    }
+
+    public void writeLongs(long[] values) throws IOException {
+        this.output.writeInt(values.length);
+        for (long value : values) {
+            this.output.writeLong(value);
+        }
+    }
+
+    public void writeInts(IntBuffer values) throws IOException {
+        this.output.writeInt(values.capacity());
+        for (int index = 0; index < values.capacity(); index++) {
+            this.output.writeInt(values.get(index));
+        }
+    }
+
+    public void writeDoubles(DoubleBuffer values) throws IOException {
+        this.output.writeInt(values.capacity());
+        for (int index = 0; index < values.capacity(); index++) {
+            this.output.writeDouble(values.get(index));
+        }
+    }
+
+    public void writeChars(CharBuffer values) throws IOException {
+        this.output.writeInt(values.capacity());
+        for (int index = 0; index < values.capacity(); index++) {
+            this.output.writeChar(values.get(index));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.output.close();
+    }
+}
@@ -0,0 +1,82 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Allocates primitive buffers either on the heap, wrapping a plain array, or in direct memory outside of it.
+ * Direct buffers use the native byte order, so reading them costs no more than reading an array, and every buffer
+ * is read with absolute gets only, so the same buffer can be shared between threads.
+ * A single buffer holds at most {@link Integer#MAX_VALUE} bytes.
+ */
+public final class Buffers {
+    private static final String KEYWORD_TOO_LARGE = " elements do not fit in a single buffer.";
+
+    private Buffers() {
+    }
+
+    public static CharBuffer chars(char[] values, boolean direct) {
+        if (!direct) {
+            return CharBuffer.wrap(values);
+        }
+
+        return allocateDirect(values.length, Character.BYTES).asCharBuffer().put(0, values);
+    }
+
+    public static IntBuffer ints(int[] values, boolean direct) {
+        if (!direct) {
+            return IntBuffer.wrap(values);
+        }
+
+        return allocateDirect(values.length, Integer.BYTES).asIntBuffer().put(0, values);
+    }
+
+    public static DoubleBuffer doubles(double[] values, boolean direct) {
+        if (!direct) {
+            return DoubleBuffer.wrap(values);
+        }
+
+        return allocateDirect(values.length, Double.BYTES).asDoubleBuffer().put(0, values);
+    }
+
+    /**
+     * Returns the first {@code length} elements of {@code values}, padded with zeros, in a new buffer that is direct
+     * exactly when {@code direct} is.
+     */
+    public static CharBuffer copyOf(CharBuffer values, int length, boolean direct) {
+        CharBuffer copy = direct ? allocateDirect(length, Character.BYTES).asCharBuffer() : CharBuffer.allocate(length);
+
+        return copy.put(0, values, 0, Math.min(length, values.capacity()));
+    }
+
+    public static IntBuffer copyOf(IntBuffer values, int length, boolean direct) {
+        IntBuffer copy = direct ? allocateDirect(length, Integer.BYTES).asIntBuffer() : IntBuffer.allocate(length);
+
+        return copy.put(0, values, 0, Math.min(length, values.capacity()));
+    }
+
+    public static DoubleBuffer copyOf(DoubleBuffer values, int length, boolean direct) {
+        DoubleBuffer copy = direct
+                ? allocateDirect(length, Double.BYTES).asDoubleBuffer() : DoubleBuffer.allocate(length);
+
+        return copy.put(0, values, 0, Math.min(length, values.capacity()));
+    }
+
+    public static int[] toArray(IntBuffer values) {
+        int[] result = new int[values.capacity()];
+        values.get(0, result);
+
+        return result;
+    }
+
+    private static ByteBuffer allocateDirect(int length, int elementBytes) {
+        if (length > Integer.MAX_VALUE / elementBytes) {
+            throw new IllegalArgumentException(length + KEYWORD_TOO_LARGE);
+        }
+
+        return ByteBuffer.allocateDirect(length * elementBytes).order(ByteOrder.nativeOrder());
+    }
+}
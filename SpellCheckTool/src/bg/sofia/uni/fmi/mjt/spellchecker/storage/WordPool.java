@@ -0,0 +1,129 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.storage;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.snapshot.SnapshotInput;
+import bg.sofia.uni.fmi.mjt.spellchecker.snapshot.SnapshotOutput;
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Immutable strings stored back to back in one character buffer, word {@code id} occupying
+ * {@code [getStart(id), getEnd(id))} of it. Kept in direct buffers, a pool of millions of words is a handful of
+ * objects for the garbage collector instead of two per word. Words are compared in place; only {@link #get}
+ * creates a string.
+ */
+public final class WordPool {
+    private static final String KEYWORD_TOO_LARGE = " characters do not fit in a single pool.";
+    private final CharBuffer characters;
+    private final IntBuffer offsets;
+
+    private WordPool(CharBuffer characters, IntBuffer offsets) {
+        this.characters = characters;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Returns a pool of {@code words} in order, {@code null} ones stored as empty.
+     */
+    public static WordPool of(String[] words, boolean direct) {
+        Validator.validateNotNull(words, "words");
+
+        long total = 0;
+        for (String word : words) {
+            total += word == null ? 0 : word.length();
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(total + KEYWORD_TOO_LARGE);
+        }
+
+        char[] characters = new char[(int) total];
+        int[] offsets = new int[words.length + 1];
+        for (int index = 0; index < words.length; index++) {
+            int start = offsets[index];
+            if (words[index] != null) {
+                words[index].getChars(0, words[index].length(), characters, start);
+            }
+            offsets[index + 1] = start + (words[index] == null ? 0 : words[index].length());
+        }
+
+        return new WordPool(Buffers.chars(characters, direct), Buffers.ints(offsets, direct));
+    }
+
+    public static WordPool readFrom(SnapshotInput input, boolean direct) {
+        Validator.validateNotNull(input, "input");
+
+        IntBuffer offsets = input.readIntBuffer(direct);
+        CharBuffer characters = input.readCharBuffer(direct);
+
+        return new WordPool(characters, offsets);
+    }
+
+    /**
+     * Writes the offsets of the words followed by their characters, which {@link #readFrom} reads back.
+     */
+    public void writeTo(SnapshotOutput output) throws IOException {
+        Validator.validateNotNull(output, "output");
+
+        output.writeInts(this.offsets);
+        output.writeChars(this.characters);
+    }
+
+    /**
+     * Returns this pool if it already is in the requested kind of memory, otherwise a copy in it.
+     */
+    public WordPool copy(boolean direct) {
+        if (this.isDirect() == direct) {
+            return this;
+        }
+
+        return new WordPool(Buffers.copyOf(this.characters, this.characters.capacity(), direct),
+                Buffers.copyOf(this.offsets, this.offsets.capacity(), direct));
+    }
+
+    public boolean isDirect() {
+        return this.characters.isDirect();
+    }
+
+    public int size() {
+        return this.offsets.capacity() - 1;
+    }
+
+    public int getStart(int id) {
+        return this.offsets.get(id);
+    }
+
+    public int getEnd(int id) {
+        return this.offsets.get(id + 1);
+    }
+
+    public int length(int id) {
+        return this.getEnd(id) - this.getStart(id);
+    }
+
+    public String get(int id) {
+        char[] word = new char[this.length(id)];
+        this.characters.get(this.getStart(id), word);
+
+        return new String(word);
+    }
+
+    /**
+     * Returns whether word {@code id} is spelled exactly as {@code word}.
+     */
+    public boolean matches(int id, CharSequence word) {
+        int start = this.getStart(id);
+        if (this.getEnd(id) - start != word.length()) {
+            return false;
+        }
+
+        for (int index = 0; index < word.length(); index++) {
+            if (this.characters.get(start + index) != word.charAt(index)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,161 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.tokenizer;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.validator.Validator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Splits a character stream into lines directly in a reusable char buffer.
+ * A line keeps its terminator (CR LF, LF, CR, U+0085, U+2028 or U+2029). As with the former
+ * {@code .*\R|.+\z} pattern, a vertical tab or form feed only ends a line in the final segment
+ * of the input, where no other terminator follows.
+ * With an echo writer, every character of the input is also copied there, a whole buffer of returned lines at a
+ * time just before the buffer is refilled and the rest once the input ends.
+ */
+public class LineTokenizer implements Closeable {
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final char CARRIAGE_RETURN = '\r';
+    private static final char LINE_FEED = '\n';
+    private static final char NEXT_LINE = '\u0085';
+    private static final char LINE_SEPARATOR = '\u2028';
+    private static final char PARAGRAPH_SEPARATOR = '\u2029';
+    private static final char VERTICAL_TAB = '\u000B';
+    private static final char FORM_FEED = '\f';
+    private final Reader reader;
+    private final Writer echo;
+    private char[] buffer;
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private int lineStart;
+    private int lineEnd;
+    private int echoed;
+
+    public LineTokenizer(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    public LineTokenizer(Reader reader, int bufferSize) {
+        this(reader, bufferSize, null);
+    }
+
+    /**
+     * Creates a tokenizer that copies the input to {@code echo} in bulk as its lines are returned.
+     */
+    public LineTokenizer(Reader reader, int bufferSize, Writer echo) {
+        Validator.validateNotNull(reader, "reader");
+        Validator.validatePositive(bufferSize);
+
+        this.reader = reader;
+        this.echo = echo;
+        this.buffer = new char[Math.max(bufferSize, 2)];
+    }
+
+    public boolean nextLine() throws IOException {
+        int scanned = 0;
+
+        while (true) {
+            int index = this.position + scanned;
+
+            while (index < this.limit && !isTerminator(this.buffer[index])) {
+                index++;
+            }
+
+            if (index < this.limit) {
+                if (this.buffer[index] != CARRIAGE_RETURN || index + 1 < this.limit || this.endOfInput) {
+                    boolean crlf = this.buffer[index] == CARRIAGE_RETURN
+                            && index + 1 < this.limit && this.buffer[index + 1] == LINE_FEED;
+
+                    return this.emitLine(crlf ? index + 2 : index + 1);
+                }
+            } else if (this.endOfInput) {
+                return this.emitLastLines();
+            }
+
+            scanned = index - this.position;
+            this.fill();
+        }
+    }
+
+    public char[] getBuffer() {
+        return this.buffer;
+    }
+
+    public int getLineStart() {
+        return this.lineStart;
+    }
+
+    public int getLineEnd() {
+        return this.lineEnd;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+    private boolean emitLastLines() throws IOException {
+        if (this.position == this.limit) {
+            this.echoReturnedLines();
+            return false;
+        }
+
+        int end = this.limit;
+        for (int index = this.limit - 1; index >= this.position; index--) {
+            if (this.buffer[index] == VERTICAL_TAB || this.buffer[index] == FORM_FEED) {
+                end = index + 1;
+                break;
+            }
+        }
+
+        return this.emitLine(end);
+    }
+
+    private boolean emitLine(int end) {
+        this.lineStart = this.position;
+        this.lineEnd = end;
+        this.position = end;
+
+        return true;
+    }
+
+    private void fill() throws IOException {
+        this.echoReturnedLines();
+
+        if (this.position > 0) {
+            System.arraycopy(this.buffer, this.position, this.buffer, 0, this.limit - this.position);
+            this.limit -= this.position;
+            this.position = 0;
+            this.echoed = 0;
+        }
+
+        if (this.limit == this.buffer.length) {
+            char[] larger = new char[this.buffer.length * 2];
+            System.arraycopy(this.buffer, 0, larger, 0, this.limit);
+            this.buffer = larger;
+        }
+
+        int read = this.reader.read(this.buffer, this.limit, this.buffer.length - this.limit);
+
+        if (read < 0) {
+            this.endOfInput = true;
+        } else {
+            this.limit += read;
+        }
+    }
+
+    private void echoReturnedLines() throws IOException {
+        if (this.echo != null && this.echoed < this.position) {
+            this.echo.write(this.buffer, this.echoed, this.position - this.echoed);
+            this.echoed = this.position;
+        }
+    }
+
+    private static boolean isTerminator(char symbol) {
+        return symbol == LINE_FEED || symbol == CARRIAGE_RETURN || symbol == NEXT_LINE
+                || symbol == LINE_SEPARATOR || symbol == PARAGRAPH_SEPARATOR;
+    }
+}
@@ -1,5 +1,6 @@
 package bg.sofia.uni.fmi.mjt.spellchecker;
 
+import bg.sofia.uni.fmi.mjt.spellchecker.formatter.JsonLinesReportWriter;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -9,7 +10,14 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -171,6 +179,24 @@ public class NaiveSpellCheckerTest {
         assertEquals("expected nothing found metadata = (0,0,0)", expected, actual);
     }
 
+    @Test
+    public void testMetadataIgnoresCaseOfDictionaryAndStopWords() {
+        Reader reader = new StringReader("DOG Cat THE hElLo");
+        Metadata actual = spellChecker.metadata(reader);
+        Metadata expected = new Metadata(14, 3, 0);
+
+        assertEquals("expected dictionary and stop words to be matched regardless of case", expected, actual);
+    }
+
+    @Test
+    public void testMetadataCountsTabsAndWindowsLineEndings() {
+        Reader reader = new StringReader("dog\tcat  eagle\r\nthe   frogg \r\n\r\n");
+        Metadata actual = spellChecker.metadata(reader);
+        Metadata expected = new Metadata(20, 4, 1);
+
+        assertEquals("expected single tabs to be counted and line endings to be ignored", expected, actual);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void findClosestWordsNullIllegalArgumentException() {
         spellChecker.findClosestWords(null, 10);
@@ -312,4 +338,180 @@ public class NaiveSpellCheckerTest {
         String actualOutput = String.join(System.lineSeparator(), actualLines);
         assertNotEquals("expecting different output", expectedOutput, actualOutput);
     }
+
+    @Test
+    public void analyzeWithDedicatedExecutorKeepsFindingsOrder() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        SpellChecker parallelChecker = new NaiveSpellChecker(
+                new StringReader(String.join(System.lineSeparator(), List.of("hello", "chello", "jelly", "cat"))),
+                new StringReader(String.join(System.lineSeparator(), List.of("i", "am", "a"))),
+                executor);
+
+        String expectedOutput = String.join(System.lineSeparator(),
+                "helllo, i am a cat! jello",
+                "= = = Metadata = = =",
+                "20 characters, 3 words, 2 spelling issue(s) found",
+                "= = = Findings = = =",
+                "Line #1, {helllo} - Possible suggestions are {hello, chello}",
+                "Line #1, {jello} - Possible suggestions are {hello, jelly}");
+
+        StringWriter writer = new StringWriter();
+        parallelChecker.analyze(new StringReader("helllo, i am a cat! jello"), writer, 2);
+        executor.shutdown();
+
+        assertEquals("expecting findings in the order of appearance", expectedOutput, writer.toString());
+    }
+
+    @Test
+    public void analyzeInChunksGivesTheSameOutputAndMetadata() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        NaiveSpellChecker checker = (NaiveSpellChecker) spellChecker;
+        String text = String.join(System.lineSeparator(), "(%)*asddas-, ivan (&&&&&&&)(*******)..",
+                "helllo, i am a cat!", "", "\tjello  DOG\r\nchello");
+
+        StringWriter expected = new StringWriter();
+        StringWriter actual = new StringWriter();
+        checker.analyze(new StringReader(text), expected, 3);
+        checker.analyze(new StringReader(text), actual, 3, executor);
+        Metadata metadata = checker.metadata(new StringReader(text), executor);
+        executor.shutdown();
+
+        assertEquals("expecting the same output as the sequential analysis", expected.toString(), actual.toString());
+        assertEquals("expecting the same metadata as the sequential analysis",
+                checker.metadata(new StringReader(text)), metadata);
+    }
+
+    @Test
+    public void findClosestWordsConcurrentCallersGetTheirOwnCount() throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (int call = 0; call < 200; call++) {
+            int n = 1 + call % 5;
+            results.add(executor.submit(() -> {
+                List<String> suggestions = spellChecker.findClosestWords("helllo", n);
+                return suggestions.size() == n && suggestions.get(0).equals("hello");
+            }));
+        }
+
+        for (Future<Boolean> result : results) {
+            assertTrue("expecting every caller to get exactly the requested suggestions", result.get());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    public void snapshotLoadedCheckerGivesTheSameResults() throws IOException {
+        Path snapshotFile = Files.createTempFile("dictionary", ".snapshot");
+
+        try {
+            ((NaiveSpellChecker) spellChecker).writeSnapshot(snapshotFile);
+            SpellChecker loadedChecker = NaiveSpellChecker.fromSnapshot(snapshotFile);
+
+            String text = String.join(System.lineSeparator(), "(%)*asddas-, ivan (&&&&&&&)(*******)..",
+                    "helllo, i am a cat! DOG");
+            StringWriter expected = new StringWriter();
+            StringWriter actual = new StringWriter();
+            spellChecker.analyze(new StringReader(text), expected, 3);
+            loadedChecker.analyze(new StringReader(text), actual, 3);
+
+            assertEquals("expecting the same output from the loaded snapshot", expected.toString(), actual.toString());
+            assertEquals("expecting the same suggestions from the loaded snapshot",
+                    spellChecker.findClosestWords("helllo", 5), loadedChecker.findClosestWords("helllo", 5));
+        } finally {
+            Files.delete(snapshotFile);
+        }
+    }
+
+    @Test
+    public void offHeapSnapshotGivesTheSameResults() throws IOException {
+        Path snapshotFile = Files.createTempFile("dictionary", ".snapshot");
+
+        try {
+            ((NaiveSpellChecker) spellChecker).writeSnapshot(snapshotFile);
+            NaiveSpellChecker loadedChecker = NaiveSpellChecker.fromSnapshot(snapshotFile, true);
+            loadedChecker.addWords(List.of("kubernetes"));
+
+            assertEquals("expecting the off-heap checker to know the added word", 1,
+                    loadedChecker.metadata(new StringReader("helllo, i am a kubernetes cat")).mistakes());
+            assertEquals("expecting the same suggestions from direct memory",
+                    spellChecker.findClosestWords("helllo", 5), loadedChecker.findClosestWords("helllo", 5));
+        } finally {
+            Files.delete(snapshotFile);
+        }
+    }
+
+    @Test
+    public void addedWordsAreKnownAndSuggestedToLaterCalls() {
+        NaiveSpellChecker checker = new NaiveSpellChecker(
+                new StringReader(String.join(System.lineSeparator(), "hello", "cat", "dog")),
+                new StringReader(String.join(System.lineSeparator(), "i", "am", "a")));
+
+        assertEquals("expecting the unknown word to be a mistake", 1,
+                checker.metadata(new StringReader("i am a kubernetes cat")).mistakes());
+
+        checker.addWords(List.of("  Kubernetes ", "x"));
+
+        assertEquals("expecting the added word to be known", 0,
+                checker.metadata(new StringReader("i am a kubernetes cat")).mistakes());
+        assertEquals("expecting the added word to be suggested", List.of("Kubernetes"),
+                checker.findClosestWords("kubernetis", 1));
+    }
+
+    @Test
+    public void removedWordsBecomeMistakesUnlessStopWords() {
+        NaiveSpellChecker checker = new NaiveSpellChecker(
+                new StringReader(String.join(System.lineSeparator(), "hello", "cat", "Cat", "dog", "am")),
+                new StringReader(String.join(System.lineSeparator(), "i", "am", "a")));
+
+        checker.removeWords(List.of("cat", "am"));
+        Metadata metadata = checker.metadata(new StringReader("i am a cat"));
+
+        assertEquals("expecting the other spelling to keep the word known", 0, metadata.mistakes());
+        assertEquals("expecting the removed dictionary word to stay a stop word", 1, metadata.words());
+
+        checker.removeWords(List.of("Cat"));
+
+        assertEquals("expecting the word without spellings to be a mistake", 1,
+                checker.metadata(new StringReader("i am a cat")).mistakes());
+        List<String> suggestions = checker.findClosestWords("cat", 5);
+        assertFalse("expecting the removed spellings not to be suggested",
+                suggestions.contains("cat") || suggestions.contains("Cat"));
+    }
+
+    @Test
+    public void updatedCheckerGivesTheSameResultsAsAFreshOne() {
+        NaiveSpellChecker updated = new NaiveSpellChecker(
+                new StringReader(String.join(System.lineSeparator(), "hello", "café", "cat")),
+                new StringReader(String.join(System.lineSeparator(), "i", "am", "a")));
+        NaiveSpellChecker fresh = new NaiveSpellChecker(
+                new StringReader(String.join(System.lineSeparator(), "hello", "cat", "naïve")),
+                new StringReader(String.join(System.lineSeparator(), "i", "am", "a")));
+
+        updated.addWords(List.of("naïve"));
+        updated.removeWords(List.of("café"));
+
+        String text = "i am a café cat, naïve CAFÉ";
+        StringWriter expected = new StringWriter();
+        StringWriter actual = new StringWriter();
+        fresh.analyze(new StringReader(text), expected, 1);
+        updated.analyze(new StringReader(text), actual, 1);
+
+        assertEquals("expecting the symbols of removed words to be gone as well", expected.toString(),
+                actual.toString());
+    }
+
+    @Test
+    public void analyzeWritesTheReportInTheGivenFormat() {
+        StringWriter output = new StringWriter();
+
+        Metadata metadata = ((NaiveSpellChecker) spellChecker).analyze(new StringReader("i am helllo"),
+                new JsonLinesReportWriter(output), 1);
+
+        assertEquals("expecting the returned metadata", new Metadata(9, 1, 1), metadata);
+        assertEquals("expecting the metadata and the finding as JSON Lines without the text",
+                "{\"type\":\"metadata\",\"characters\":9,\"words\":1,\"mistakes\":1}\n"
+                        + "{\"type\":\"finding\",\"line\":1,\"word\":\"helllo\",\"suggestions\":[\"hello\"]}\n",
+                output.toString());
+    }
 }
@@ -0,0 +1,110 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.algorithm;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.metrics.PipelineListener;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class AlgorithmPerformerTest {
+    private static final List<String> WORDS = List.of("a", "at", "cat", "cats", "catalog", "catalogue", "category",
+            "concatenate", "scatter", "tactical", "attack", "banana", "bandana", "ban", "nab", "tattoo", "taco", "x");
+
+    @Test
+    public void testPrunedSearchMatchesTheExhaustiveRanking() {
+        BigramIndex bigramIndex = new BigramIndex(WORDS);
+        SuggestionEngine engine = new AlgorithmPerformer(bigramIndex);
+
+        for (String query : List.of("cta", "catalgo", "bananna", "tatoo", "ab", "concatenation", "zz")) {
+            for (int suggestionsCount = 1; suggestionsCount <= WORDS.size(); suggestionsCount++) {
+                assertEquals("expecting the exhaustive ranking of " + query,
+                        rankExhaustively(bigramIndex, query, suggestionsCount),
+                        engine.getClosestWords(query, suggestionsCount));
+            }
+        }
+    }
+
+    @Test
+    public void testUpdatedIndexMatchesTheExhaustiveRankingOfItsWords() {
+        Random random = new Random(20201224L);
+        BigramIndex bigramIndex = new BigramIndex(WORDS).withoutWords(List.of("cat", "x"));
+
+        // batches of generated words fill the overlay of added words past its limit and get merged on the way
+        for (int batch = 0; batch < 12; batch++) {
+            List<String> added = new ArrayList<>();
+            for (int word = 0; word < 500; word++) {
+                added.add(randomWord(random));
+            }
+
+            List<String> removed = added.subList(0, 50);
+            bigramIndex = bigramIndex.withWords(added).withoutWords(removed);
+            for (String word : added) {
+                assertEquals("expecting only the words added and not removed to be held", !removed.contains(word),
+                        bigramIndex.contains(word));
+            }
+
+            SuggestionEngine engine = new AlgorithmPerformer(bigramIndex);
+            for (String query : List.of("cta", "catalgo", "bananna", "tatoo", randomWord(random))) {
+                assertEquals("expecting the exhaustive ranking of " + query,
+                        rankExhaustively(bigramIndex, query, 5), engine.getClosestWords(query, 5));
+            }
+        }
+
+        assertFalse("expecting a word removed from the first index to stay removed", bigramIndex.contains("cat"));
+        assertEquals("expecting the words to be counted without removed ones", bigramIndex.getWords().size(),
+                bigramIndex.getWordCount());
+    }
+
+    @Test
+    public void testOnlyWordsSharingABigramAreScoredAndFewerOnceTheBestCannotBeBeaten() {
+        List<String> words = new ArrayList<>();
+        for (char letter = 'b'; letter <= 'u'; letter++) {
+            // every word shares its single aa with the query and scores exactly as high as its profile allows
+            words.add("aa" + letter);
+            words.add("" + letter + letter + letter + 'z');
+        }
+        List<Integer> scored = new ArrayList<>();
+        BigramIndex bigramIndex = new BigramIndex(words);
+        SuggestionEngine engine = new AlgorithmPerformer(bigramIndex, new PipelineListener() {
+            @Override
+            public void closestWordsFound(int scoredCandidates, long nanos) {
+                scored.add(scoredCandidates);
+            }
+        });
+
+        assertEquals("expecting the exhaustive ranking", rankExhaustively(bigramIndex, "aa", 25),
+                engine.getClosestWords("aa", 25));
+        assertEquals("expecting only the words containing aa to be scored", 20, (int) scored.get(0));
+
+        assertEquals("expecting the best word only", rankExhaustively(bigramIndex, "aa", 1),
+                engine.getClosestWords("aa", 1));
+        assertEquals("expecting the scan to stop once no word can beat the one kept", 1, (int) scored.get(1));
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[2 + random.nextInt(7)];
+        for (int index = 0; index < word.length; index++) {
+            word[index] = (char) ('a' + random.nextInt(8));
+        }
+
+        return new String(word);
+    }
+
+    private static List<String> rankExhaustively(BigramIndex bigramIndex, String query, int suggestionsCount) {
+        BigramVector vector = BigramVector.of(query);
+
+        return IntStream.range(0, bigramIndex.size())
+                .filter(id -> !bigramIndex.isRemoved(id))
+                .mapToObj(id -> new ScoredWord(id,
+                        (double) bigramIndex.dotProduct(vector, id) / (vector.length() * bigramIndex.getLength(id))))
+                .sorted(ScoredWord.BEST_FIRST)
+                .limit(suggestionsCount)
+                .map(scoredWord -> bigramIndex.getWord(scoredWord.id()))
+                .toList();
+    }
+}
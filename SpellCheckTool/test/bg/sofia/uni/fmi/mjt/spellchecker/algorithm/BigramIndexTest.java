@@ -0,0 +1,105 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.algorithm;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+
+public class BigramIndexTest {
+    private static final String LETTERS = "abcAB";
+
+    @Test
+    public void testScoresMatchTheMapBasedComputation() {
+        Random random = new Random(1867L);
+
+        for (int dictionary = 0; dictionary < 20; dictionary++) {
+            BigramIndex bigramIndex = new BigramIndex(randomWords(random, 200));
+            List<BigramIndex> variants = List.of(bigramIndex, bigramIndex.offHeap(),
+                    bigramIndex.withWords(randomWords(random, 50)));
+
+            // the heap arrays, the direct buffers and the overlay of added words are each read their own way
+            for (BigramIndex variant : variants) {
+                SuggestionEngine engine = new AlgorithmPerformer(variant);
+
+                for (int query = 0; query < 10; query++) {
+                    String word = randomWord(random);
+                    Map<String, Integer> queryBigrams = countBigrams(word.toLowerCase());
+                    BigramVector vector = BigramVector.of(word.toLowerCase());
+
+                    for (int id = 0; id < variant.size(); id++) {
+                        Map<String, Integer> wordBigrams = countBigrams(variant.getWord(id));
+
+                        assertEquals("expecting the dot product of the bigram counts",
+                                dotProduct(queryBigrams, wordBigrams), variant.dotProduct(vector, id));
+                        assertEquals("expecting the length of the bigram counts", length(wordBigrams),
+                                variant.getLength(id), 0.0);
+                    }
+
+                    assertEquals("expecting the ranking of the map-based scores of " + word,
+                            rankByMaps(variant, word, 5), engine.getClosestWords(word, 5));
+                }
+            }
+        }
+    }
+
+    private static List<String> rankByMaps(BigramIndex bigramIndex, String query, int suggestionsCount) {
+        Map<String, Integer> queryBigrams = countBigrams(query.toLowerCase());
+
+        return IntStream.range(0, bigramIndex.size())
+                .mapToObj(id -> {
+                    Map<String, Integer> wordBigrams = countBigrams(bigramIndex.getWord(id));
+                    return new ScoredWord(id, (double) dotProduct(queryBigrams, wordBigrams)
+                            / (length(queryBigrams) * length(wordBigrams)));
+                })
+                .sorted(ScoredWord.BEST_FIRST)
+                .limit(suggestionsCount)
+                .map(scoredWord -> bigramIndex.getWord(scoredWord.id()))
+                .toList();
+    }
+
+    private static Map<String, Integer> countBigrams(String word) {
+        Map<String, Integer> bigrams = new HashMap<>();
+        for (int index = 0; index < word.length() - 1; index++) {
+            String bigram = "" + Character.toLowerCase(word.charAt(index))
+                    + Character.toLowerCase(word.charAt(index + 1));
+            bigrams.merge(bigram, 1, Integer::sum);
+        }
+
+        return bigrams;
+    }
+
+    private static int dotProduct(Map<String, Integer> first, Map<String, Integer> second) {
+        return first.entrySet().stream()
+                .filter(entry -> second.containsKey(entry.getKey()))
+                .mapToInt(entry -> entry.getValue() * second.get(entry.getKey()))
+                .sum();
+    }
+
+    private static double length(Map<String, Integer> bigrams) {
+        return Math.sqrt(bigrams.values().stream().mapToInt(count -> count * count).sum());
+    }
+
+    private static List<String> randomWords(Random random, int count) {
+        List<String> words = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            words.add(randomWord(random));
+        }
+
+        return words;
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[1 + random.nextInt(8)];
+        for (int index = 0; index < word.length; index++) {
+            word[index] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+        }
+
+        return new String(word);
+    }
+}
@@ -0,0 +1,39 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.algorithm;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class BkTreeEngineTest {
+    private static final List<String> WORDS = List.of("hello", "help", "jelly", "yellow", "cat", "Hell", "international",
+            "internationally");
+
+    @Test
+    public void testClosestWordsComeFirstAndTiesAlphabetically() {
+        SuggestionEngine engine = new BkTreeEngine(WORDS, 2);
+
+        assertEquals("expecting words by distance, then alphabetically", List.of("Hell", "hello", "help"),
+                engine.getClosestWords("helo", 3));
+    }
+
+    @Test
+    public void testOnlyWordsWithinTheMaximumDistanceAreSuggested() {
+        SuggestionEngine engine = new BkTreeEngine(WORDS, 1);
+
+        assertEquals("expecting only the words one edit away", List.of("Hell", "hello", "help"),
+                engine.getClosestWords("HELO", 10));
+    }
+
+    @Test
+    public void testSameAnswersAsTheSymmetricDeleteEngine() {
+        SuggestionEngine bkTree = new BkTreeEngine(WORDS, 2);
+        SuggestionEngine symmetricDelete = new SymmetricDeleteEngine(WORDS, 2);
+
+        for (String query : List.of("internatinoal", "jely", "yelow", "tac", "xyz")) {
+            assertEquals("expecting the same suggestions for " + query, symmetricDelete.getClosestWords(query, 5),
+                    bkTree.getClosestWords(query, 5));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.algorithm;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class SymmetricDeleteEngineTest {
+    private static final List<String> WORDS = List.of("hello", "help", "jelly", "yellow", "cat", "Hell", "international",
+            "internationally");
+
+    @Test
+    public void testEditDistanceCountsTranspositionsAsOneEdit() {
+        EditDistance editDistance = new EditDistance();
+
+        assertEquals("expecting one transposition", 1, editDistance.damerauLevenshtein("hlelo", "hello", 3));
+        assertEquals("expecting insertion and substitution", 2, editDistance.damerauLevenshtein("helo", "yello", 3));
+        assertEquals("expecting an edit between transposed letters", 2, editDistance.damerauLevenshtein("ca", "abc", 3));
+        assertEquals("expecting cut-off above the maximum", 2, editDistance.damerauLevenshtein("cat", "hello", 1));
+    }
+
+    @Test
+    public void testClosestWordsComeFirstAndTiesAlphabetically() {
+        SuggestionEngine engine = new SymmetricDeleteEngine(WORDS, 2);
+
+        assertEquals("expecting words by distance, then alphabetically", List.of("Hell", "hello", "help"),
+                engine.getClosestWords("helo", 3));
+    }
+
+    @Test
+    public void testOnlyWordsWithinTheMaximumDistanceAreSuggested() {
+        SuggestionEngine engine = new SymmetricDeleteEngine(WORDS, 1);
+
+        assertEquals("expecting only the words one edit away", List.of("Hell", "hello", "help"),
+                engine.getClosestWords("HELO", 10));
+    }
+
+    @Test
+    public void testLongWordsAreFoundBeyondThePrefix() {
+        SuggestionEngine engine = new SymmetricDeleteEngine(WORDS, 2);
+
+        assertEquals("expecting only the long word within two edits", List.of("international"),
+                engine.getClosestWords("internatinoal", 2));
+    }
+}
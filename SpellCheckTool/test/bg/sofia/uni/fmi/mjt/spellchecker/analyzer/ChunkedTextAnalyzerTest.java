@@ -0,0 +1,87 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.analyzer;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.findings.Finding;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Dictionary;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Lexicon;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.StopWords;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.SymbolTable;
+import bg.sofia.uni.fmi.mjt.spellchecker.metrics.PipelineListener;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ChunkedTextAnalyzerTest {
+    private static final Dictionary DICTIONARY = new Dictionary(List.of("hello", "cat", "dog"));
+    private static final StopWords STOP_WORDS = new StopWords(List.of("i", "am", "a"));
+    private static final Lexicon LEXICON = new Lexicon(DICTIONARY, STOP_WORDS);
+    private static final SymbolTable SYMBOLS = new SymbolTable(DICTIONARY, STOP_WORDS);
+
+    @Test
+    public void testManySmallChunksGiveTheSequentialResult() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int line = 0; line < 500; line++) {
+            lines.add(line % 7 == 0 ? "helo, i am a dgo\n" : "hello cat number " + line + "\n");
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try (TextAnalyzer sequential = new TextAnalyzer(LEXICON, SYMBOLS);
+             TextAnalyzer chunked = new ChunkedTextAnalyzer(LEXICON, SYMBOLS, executor, 64)) {
+            for (String line : lines) {
+                sequential.analyzeLine(line);
+                chunked.analyzeLine(line);
+            }
+
+            assertEquals("expecting the same metadata", sequential.collectMetadata(), chunked.collectMetadata());
+            assertEquals("expecting the same findings with global line numbers",
+                    collect(sequential.getProblemLines()), collect(chunked.getProblemLines()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testLineLongerThanChunkIsKeptWhole() throws IOException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (TextAnalyzer chunked = new ChunkedTextAnalyzer(LEXICON, SYMBOLS, executor, 4)) {
+            chunked.analyzeLine("hello cat wrnog dog\n");
+            chunked.analyzeLine("catt\n");
+
+            assertEquals("expecting both misspellings with their lines",
+                    List.of(new Finding(1, "wrnog"), new Finding(2, "catt")), collect(chunked.getProblemLines()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testChunksWithoutFindingsOnlyCount() throws IOException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (TextAnalyzer sequential = new TextAnalyzer(LEXICON, SYMBOLS);
+             TextAnalyzer counting = new ChunkedTextAnalyzer(LEXICON, SYMBOLS, executor, 4, false,
+                     PipelineListener.NONE)) {
+            for (String line : List.of("hello cat wrnog dog\n", "catt\n")) {
+                sequential.analyzeLine(line);
+                counting.analyzeLine(line);
+            }
+
+            assertEquals("expecting the same metadata", sequential.collectMetadata(), counting.collectMetadata());
+            assertTrue("expecting no findings recorded", counting.getProblemLines().isEmpty());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<Finding> collect(Iterable<Finding> findings) {
+        List<Finding> result = new ArrayList<>();
+        findings.forEach(result::add);
+
+        return result;
+    }
+}
@@ -0,0 +1,43 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.analyzer;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.Metadata;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Dictionary;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.Lexicon;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.StopWords;
+import bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists.SymbolTable;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class MetadataCounterTest {
+    private static final Dictionary DICTIONARY = new Dictionary(List.of("hello", "cat", "dog"));
+    private static final StopWords STOP_WORDS = new StopWords(List.of("i", "am", "a"));
+    private static final Lexicon LEXICON = new Lexicon(DICTIONARY, STOP_WORDS);
+    private static final SymbolTable SYMBOLS = new SymbolTable(DICTIONARY, STOP_WORDS);
+
+    @Test
+    public void testCountsMatchTheFullAnalysis() throws IOException {
+        String text = "helo, i am a dgo!\r\n\tHELLO  cat\u000Bcatt\n\nDog-dog";
+        MetadataCounter counter = new MetadataCounter(LEXICON, SYMBOLS);
+
+        try (TextAnalyzer analyzer = new TextAnalyzer(LEXICON, SYMBOLS)) {
+            for (String line : text.split("(?<=\n)")) {
+                analyzer.analyzeLine(line);
+            }
+
+            assertEquals("expecting the counts of the full analysis", analyzer.collectMetadata(),
+                    counter.count(new StringReader(text)));
+        }
+    }
+
+    @Test
+    public void testEmptyTextHasNoCounts() {
+        MetadataCounter counter = new MetadataCounter(LEXICON, SYMBOLS);
+
+        assertEquals("expecting zero counts", new Metadata(0, 0, 0), counter.count(new StringReader("")));
+    }
+}
@@ -0,0 +1,74 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.analyzer.findings;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FindingsBufferTest {
+
+    @Test
+    public void testFindingsKeepOrderWhenSpilled() throws IOException {
+        List<Finding> expected = new ArrayList<>();
+        List<Finding> actual = new ArrayList<>();
+
+        try (FindingsBuffer buffer = new FindingsBuffer(3)) {
+            for (int lineNumber = 1; lineNumber <= 10; lineNumber++) {
+                buffer.add(lineNumber, "word" + lineNumber);
+                expected.add(new Finding(lineNumber, "word" + lineNumber));
+            }
+
+            buffer.forEach(actual::add);
+            assertEquals("expected all findings to be counted", 10, buffer.size());
+        }
+
+        assertEquals("expected findings in order of appearance", expected, actual);
+    }
+
+    @Test
+    public void testFindingsCanBeIteratedTwice() throws IOException {
+        try (FindingsBuffer buffer = new FindingsBuffer(1)) {
+            buffer.add(1, "teh");
+            buffer.add(2, "recieve");
+
+            List<Finding> first = new ArrayList<>();
+            List<Finding> second = new ArrayList<>();
+            buffer.forEach(first::add);
+            buffer.forEach(second::add);
+
+            assertEquals("expected the same findings on every iteration", first, second);
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testClosingTheBufferClosesUnfinishedIterators() throws IOException {
+        Iterator<Finding> unfinished;
+
+        try (FindingsBuffer buffer = new FindingsBuffer(1)) {
+            buffer.add(1, "teh");
+            buffer.add(2, "recieve");
+            buffer.add(3, "wierd");
+
+            unfinished = buffer.iterator();
+            assertEquals("expected the first finding", new Finding(1, "teh"), unfinished.next());
+        }
+
+        // reading ahead past the next finding has to go to the closed spill file
+        unfinished.next();
+    }
+
+    @Test
+    public void testEmptyBuffer() throws IOException {
+        try (FindingsBuffer buffer = new FindingsBuffer()) {
+            assertTrue("expected new buffer to be empty", buffer.isEmpty());
+            buffer.add(1, "teh");
+            assertFalse("expected buffer with a finding not to be empty", buffer.isEmpty());
+        }
+    }
+}
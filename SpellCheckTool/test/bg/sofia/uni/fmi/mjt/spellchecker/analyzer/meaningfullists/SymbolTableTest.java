@@ -0,0 +1,60 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SymbolTableTest {
+
+    @Test
+    public void testLatinLettersAndDigitsAreAlwaysSymbols() {
+        SymbolTable symbols = new SymbolTable(new Dictionary(List.of()), new StopWords(List.of()));
+
+        assertTrue("expected lowercase letter to be a symbol", symbols.isSymbol('q'));
+        assertTrue("expected uppercase letter to be a symbol", symbols.isSymbol('Q'));
+        assertTrue("expected digit to be a symbol", symbols.isSymbol('7'));
+        assertFalse("expected punctuation not to be a symbol", symbols.isSymbol('!'));
+    }
+
+    @Test
+    public void testCharactersOfWordsAreSymbolsInBothCases() {
+        SymbolTable symbols = new SymbolTable(new Dictionary(List.of("ябълка")), new StopWords(List.of("o'")));
+
+        assertTrue("expected dictionary letter to be a symbol", symbols.isSymbol('я'));
+        assertTrue("expected other case of dictionary letter to be a symbol", symbols.isSymbol('Я'));
+        assertTrue("expected non-letter of stop word to be a symbol", symbols.isSymbol('\''));
+        assertFalse("expected unseen letter not to be a symbol", symbols.isSymbol('ж'));
+    }
+
+    @Test
+    public void testSymbolsStayWhileAnyWordIsMadeOfThem() {
+        SymbolTable symbols = new SymbolTable(new Dictionary(List.of("café", "é")), new StopWords(List.of("o'")))
+                .withWords(List.of("ёж"))
+                .withoutWords(List.of("café"));
+
+        assertTrue("expected symbol of a remaining word to stay", symbols.isSymbol('É'));
+        assertTrue("expected symbol of an added word to be known", symbols.isSymbol('Ж'));
+
+        symbols = symbols.withoutWords(List.of("é", "ёж"));
+
+        assertFalse("expected symbol of no remaining word to be gone", symbols.isSymbol('é'));
+        assertFalse("expected other case of it to be gone as well", symbols.isSymbol('Ё'));
+        assertTrue("expected latin letters to stay", symbols.isSymbol('c'));
+        assertTrue("expected symbol of a stop word to stay", symbols.isSymbol('\''));
+    }
+
+    @Test
+    public void testSupplementaryCodePointsAreSymbolsThroughTheirHalves() {
+        String word = "ab" + new String(Character.toChars(0x10428));
+        SymbolTable symbols = new SymbolTable(new Dictionary(List.of(word)), new StopWords(List.of()));
+        String unseen = new String(Character.toChars(0x1F600));
+
+        assertTrue("expected high surrogate to be a symbol", symbols.isSymbol(word.charAt(2)));
+        assertTrue("expected low surrogate to be a symbol", symbols.isSymbol(word.charAt(3)));
+        assertFalse("expected halves of an unseen code point not to be symbols",
+                symbols.isSymbol(unseen.charAt(0)) || symbols.isSymbol(unseen.charAt(1)));
+    }
+}
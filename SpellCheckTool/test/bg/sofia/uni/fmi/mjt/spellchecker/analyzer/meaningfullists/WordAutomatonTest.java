@@ -0,0 +1,185 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.analyzer.meaningfullists;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.enums.WordType;
+import bg.sofia.uni.fmi.mjt.spellchecker.snapshot.SnapshotInput;
+import bg.sofia.uni.fmi.mjt.spellchecker.snapshot.SnapshotOutput;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WordAutomatonTest {
+    @Test
+    public void testCommonSuffixesShareStates() {
+        WordAutomaton automaton = new WordAutomaton.Builder()
+                .add("cats", 1)
+                .add("dogs", 1)
+                .add("rats", 1)
+                .build(false);
+
+        assertEquals("expecting cats and rats to share every state but the start, and dogs their ending", 7,
+                automaton.getStateCount());
+        assertEquals("expecting no transition to be duplicated", 8, automaton.getTransitionCount());
+        assertEquals("expecting a word to be found", 1, value(automaton, "rats"));
+        assertEquals("expecting a prefix not to be a word", 0, value(automaton, "rat"));
+    }
+
+    @Test
+    public void testWordsComeBackInOrderWithTheirValues() {
+        WordAutomaton automaton = new WordAutomaton.Builder()
+                .add("a", 2)
+                .add("ab", 3)
+                .add("abcdefghijklmnopqrstuvwxyz", 4)
+                .add("b", 5)
+                .build(true);
+        List<String> words = new ArrayList<>();
+
+        automaton.forEachWord((word, length, value) -> words.add(new String(word, 0, length) + value));
+
+        assertTrue("expecting the automaton in direct memory", automaton.isDirect());
+        assertEquals("expecting every word with its value in order",
+                List.of("a2", "ab3", "abcdefghijklmnopqrstuvwxyz4", "b5"), words);
+    }
+
+    @Test
+    public void testAutomatonHasOneStateForEveryDistinctSetOfEndings() {
+        // a word set is accepted by exactly one minimal automaton: its states are the distinct sets of (ending, value)
+        // pairs that complete some prefix, and its transitions lead from those over the first letters of the endings
+        Random random = new Random(7);
+        TreeMap<String, Integer> words = new TreeMap<>();
+        for (int index = 0; index < 300; index++) {
+            char[] word = new char[1 + random.nextInt(6)];
+            for (int position = 0; position < word.length; position++) {
+                word[position] = (char) ('a' + random.nextInt(3));
+            }
+            words.put(new String(word), 1 + random.nextInt(2));
+        }
+
+        WordAutomaton.Builder builder = new WordAutomaton.Builder();
+        words.forEach(builder::add);
+        WordAutomaton automaton = builder.build(false);
+
+        Map<String, Map<String, Integer>> endings = new HashMap<>();
+        words.forEach((word, value) -> {
+            for (int length = 0; length <= word.length(); length++) {
+                endings.computeIfAbsent(word.substring(0, length), prefix -> new TreeMap<>())
+                        .put(word.substring(length), value);
+            }
+        });
+        Set<Map<String, Integer>> states = new HashSet<>(endings.values());
+        int transitions = states.stream()
+                .mapToInt(state -> (int) state.keySet().stream()
+                        .filter(ending -> !ending.isEmpty())
+                        .map(ending -> ending.charAt(0))
+                        .distinct()
+                        .count())
+                .sum();
+
+        assertEquals("expecting one state for every distinct set of endings", states.size(),
+                automaton.getStateCount());
+        assertEquals("expecting one transition for every letter leaving such a state", transitions,
+                automaton.getTransitionCount());
+    }
+
+    @Test(timeout = 10_000)
+    public void testBuildingScalesToLargeDictionaries() {
+        // every key of the register used to land next to the previous one, so this took minutes
+        String[] words = new String[300_000];
+        Random random = new Random(42);
+        for (int index = 0; index < words.length; index++) {
+            char[] word = new char[3 + random.nextInt(10)];
+            for (int position = 0; position < word.length; position++) {
+                word[position] = (char) ('a' + random.nextInt(26));
+            }
+            words[index] = new String(word);
+        }
+        Arrays.sort(words);
+
+        WordAutomaton.Builder builder = new WordAutomaton.Builder();
+        String previous = null;
+        for (String word : words) {
+            if (!word.equals(previous)) {
+                builder.add(word, 1);
+            }
+            previous = word;
+        }
+        WordAutomaton automaton = builder.build(false);
+
+        assertEquals("expecting a word to be found", 1, value(automaton, words[words.length / 2]));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWordsOutOfOrderAreRejected() {
+        new WordAutomaton.Builder().add("dog", 1).add("cat", 1);
+    }
+
+    @Test
+    public void testLexiconLooksWordsUpIgnoringCaseAndFollowsUpdates() {
+        Lexicon lexicon = new Lexicon(new Dictionary(List.of("Hello", "hello", "cat")),
+                new StopWords(List.of("a", "cat")));
+
+        assertEquals("expecting any case of a dictionary word", WordType.DICTIONARY_WORD,
+                lexicon.getWordType("HELLO"));
+        assertEquals("expecting a stop word", WordType.STOP_WORD, lexicon.getWordType("A"));
+        assertEquals("expecting a missing word", WordType.WRONG_WORD, lexicon.getWordType("dog"));
+
+        Lexicon updated = lexicon.withWords(List.of("Dog")).withoutWords(List.of("hello", "cat"));
+
+        assertEquals("expecting an added word", WordType.DICTIONARY_WORD, updated.getWordType("dog"));
+        assertEquals("expecting a word with another spelling left", WordType.DICTIONARY_WORD,
+                updated.getWordType("hello"));
+        assertEquals("expecting a removed word to stay a stop word", WordType.STOP_WORD,
+                updated.getWordType("cat"));
+    }
+
+    @Test
+    public void testLexiconUpdatedManyTimesMatchesAFreshOne() throws IOException {
+        List<String> dictionaryWords = new ArrayList<>(List.of("hello", "cat"));
+        Lexicon lexicon = new Lexicon(new Dictionary(dictionaryWords), new StopWords(List.of("a")));
+
+        // enough single-word updates to merge the pending ones into the automaton on the way
+        for (int index = 0; index < 5000; index++) {
+            lexicon = lexicon.withWords(List.of("Word" + index));
+            dictionaryWords.add("Word" + index);
+        }
+        lexicon = lexicon.withoutWords(List.of("Word7", "cat"));
+        dictionaryWords.removeAll(List.of("Word7", "cat"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SnapshotOutput output = new SnapshotOutput(bytes)) {
+            lexicon.writeTo(output);
+        }
+        Lexicon written = Lexicon.readFrom(new SnapshotInput(ByteBuffer.wrap(bytes.toByteArray())));
+        Lexicon fresh = new Lexicon(new Dictionary(dictionaryWords), new StopWords(List.of("a")));
+
+        for (String word : List.of("word0", "WORD4999", "word7", "cat", "hello", "a", "word5000")) {
+            assertEquals("expecting the updated lexicon to agree with a fresh one", fresh.getWordType(word),
+                    lexicon.getWordType(word));
+            assertEquals("expecting the written lexicon to agree with a fresh one", fresh.getWordType(word),
+                    written.getWordType(word));
+        }
+    }
+
+    private static int value(WordAutomaton automaton, String word) {
+        int state = automaton.getStart();
+
+        for (int index = 0; index < word.length() && state != WordAutomaton.NO_STATE; index++) {
+            state = automaton.step(state, word.charAt(index));
+        }
+
+        return state == WordAutomaton.NO_STATE ? 0 : automaton.getValue(state);
+    }
+}
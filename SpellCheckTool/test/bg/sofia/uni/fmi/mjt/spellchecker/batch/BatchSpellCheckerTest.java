@@ -0,0 +1,66 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.batch;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.Metadata;
+import bg.sofia.uni.fmi.mjt.spellchecker.NaiveSpellChecker;
+import org.junit.Test;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchSpellCheckerTest {
+    private static final NaiveSpellChecker SPELL_CHECKER = new NaiveSpellChecker(
+            new StringReader(String.join(System.lineSeparator(), "hello", "cat", "dog")),
+            new StringReader(String.join(System.lineSeparator(), "i", "am", "a")));
+
+    @Test
+    public void testAnalyzeAllWritesEveryDocumentAndReturnsItsMetadata() {
+        List<Document> documents = new ArrayList<>();
+        List<StringWriter> outputs = new ArrayList<>();
+        for (int index = 0; index < 20; index++) {
+            StringWriter output = new StringWriter();
+            outputs.add(output);
+            documents.add(new Document(new StringReader("i am a cat " + "dgo ".repeat(index)), output));
+        }
+
+        try (BatchSpellChecker batchChecker = new BatchSpellChecker(SPELL_CHECKER, 4)) {
+            DocumentBatch batch = batchChecker.analyzeAll(documents, 1);
+            BatchStatistics statistics = batch.getCompletion().join();
+
+            for (int index = 0; index < documents.size(); index++) {
+                String text = "i am a cat " + "dgo ".repeat(index);
+                StringWriter expected = new StringWriter();
+                SPELL_CHECKER.analyze(new StringReader(text), expected, 1);
+
+                assertEquals("expecting the metadata of the document", SPELL_CHECKER.metadata(new StringReader(text)),
+                        batch.getResults().get(index).join());
+                assertEquals("expecting the output of a single analysis", expected.toString(),
+                        outputs.get(index).toString());
+            }
+            assertEquals("expecting every document to be counted", 20, statistics.documents());
+            assertEquals("expecting every character to be counted", 20 * 11 + 4 * 190, statistics.characters());
+        }
+    }
+
+    @Test
+    public void testMetadataAllKeepsSubmissionOrder() {
+        List<Reader> texts = List.of(new StringReader("cat"), new StringReader("i am dgo"),
+                new StringReader("hello hello hello"));
+
+        try (BatchSpellChecker batchChecker = new BatchSpellChecker(SPELL_CHECKER)) {
+            DocumentBatch batch = batchChecker.metadataAll(texts);
+            batch.getCompletion().join();
+
+            assertEquals("expecting metadata in submission order",
+                    List.of(new Metadata(3, 1, 0), new Metadata(6, 1, 1), new Metadata(15, 3, 0)),
+                    batch.getResults().stream().map(CompletableFuture::join).toList());
+            assertTrue("expecting positive throughput", batch.getStatistics().documentsPerSecond() > 0);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.cache;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class SuggestionCacheTest {
+
+    @Test
+    public void testGetMissingWordCountsMiss() {
+        SuggestionCache cache = new SuggestionCache(10);
+
+        assertNull("expected miss for unknown word", cache.get("teh", 3));
+        assertEquals("expected exactly one miss", new CacheStatistics(0, 1, 0), cache.getStatistics());
+    }
+
+    @Test
+    public void testGetIgnoresCaseOfWord() {
+        SuggestionCache cache = new SuggestionCache(10);
+        cache.put("Teh", 2, List.of("the", "tea"));
+
+        assertEquals("expected case-insensitive hit", List.of("the", "tea"), cache.get("TEH", 2));
+        assertEquals("expected exactly one hit", new CacheStatistics(1, 0, 0), cache.getStatistics());
+    }
+
+    @Test
+    public void testLargerEntryAnswersSmallerRequest() {
+        SuggestionCache cache = new SuggestionCache(10);
+        cache.put("teh", 3, List.of("the", "tea", "ten"));
+
+        assertEquals("expected prefix of cached suggestions", List.of("the"), cache.get("teh", 1));
+        assertNull("expected miss when more suggestions are requested", cache.get("teh", 4));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        SuggestionCache cache = new SuggestionCache(2);
+        cache.put("teh", 1, List.of("the"));
+        cache.put("recieve", 1, List.of("receive"));
+        cache.get("teh", 1);
+        cache.put("wierd", 1, List.of("weird"));
+
+        assertEquals("expected capacity to be respected", 2, cache.size());
+        assertNotNull("expected frequently used entry to stay", cache.get("teh", 1));
+        assertNull("expected least recently used entry to be evicted", cache.get("recieve", 1));
+        assertEquals("expected exactly one eviction", 1, cache.getStatistics().evictions());
+    }
+
+    @Test
+    public void testCaseIsFoldedTheSameWayInEveryLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        SuggestionCache cache = new SuggestionCache(10);
+
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+            cache.put("TITLE", 1, List.of("title"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        assertEquals("expected the dotted i to be folded like everywhere else", List.of("title"),
+                cache.get("title", 1));
+    }
+
+    @Test
+    public void testStripedCacheKeepsItsWholeCapacity() {
+        SuggestionCache cache = new SuggestionCache(4096);
+        for (int index = 0; index < 10_000; index++) {
+            cache.put("word" + index, 1, List.of("word"));
+        }
+
+        assertEquals("expected the cache to be full but not over capacity", 4096, cache.size());
+        assertEquals("expected every entry over capacity to be evicted", 10_000 - 4096,
+                cache.getStatistics().evictions());
+    }
+}
@@ -0,0 +1,83 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.formatter;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.Metadata;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ReportWriterTest {
+    @Test
+    public void testTextReportMatchesTheLineFormatter() throws IOException {
+        LineFormatter formatter = new LineFormatter();
+        Metadata metadata = new Metadata(133, 15, 2);
+        StringWriter output = new StringWriter();
+
+        try (ReportWriter report = new TextReportWriter(output)) {
+            report.writeMetadata(metadata);
+            report.writeFinding(1, "helllo", List.of("hello"));
+            report.writeFinding(12, "dgo", List.of("dog", "do", "go"));
+        }
+
+        assertEquals("expecting the same characters as the formatted strings",
+                formatter.getMetadataHeader() + formatter.formatMetadata(metadata) + formatter.getFindingsHeader()
+                        + formatter.formatLineWithSuggestions("helllo", 1, List.of("hello"))
+                        + formatter.formatLineWithSuggestions("dgo", 12, List.of("dog", "do", "go")),
+                output.toString());
+    }
+
+    @Test
+    public void testJsonLinesReportEscapesStrings() throws IOException {
+        StringWriter output = new StringWriter();
+
+        try (ReportWriter report = new JsonLinesReportWriter(output)) {
+            assertNull("expecting the text to be left out", report.getTextEcho());
+            report.writeMetadata(new Metadata(-1, 2, 1));
+            report.writeFinding(3, "say\"hi\"\\\t\u0001", List.of("say", "hi"));
+        }
+
+        assertEquals("expecting one object per line",
+                "{\"type\":\"metadata\",\"characters\":-1,\"words\":2,\"mistakes\":1}\n"
+                        + "{\"type\":\"finding\",\"line\":3,\"word\":\"say\\\"hi\\\"\\\\\\t\\u0001\","
+                        + "\"suggestions\":[\"say\",\"hi\"]}\n",
+                output.toString());
+    }
+
+    @Test
+    public void testBinaryRecordsCanBeReadBackAndSkipped() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (ReportWriter report = new BinaryReportWriter(output)) {
+            report.writeMetadata(new Metadata(10, 2, 1));
+            report.writeFinding(7, "cta", List.of("cat", "act"));
+            report.writeFinding(8, "dgo", List.of());
+        }
+
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(output.toByteArray()));
+        assertEquals("expecting the magic number", BinaryReportWriter.MAGIC, input.readInt());
+        assertEquals("expecting the format version", BinaryReportWriter.VERSION, input.readInt());
+        assertEquals("expecting the metadata first", BinaryReportWriter.METADATA, input.readByte());
+        assertEquals("expecting three ints of metadata", 12, input.readInt());
+        assertEquals("expecting the characters", 10, input.readInt());
+        input.skipBytes(8);
+
+        assertEquals("expecting a finding", BinaryReportWriter.FINDING, input.readByte());
+        input.skipBytes(input.readInt());
+        assertEquals("expecting the second finding after skipping the first", BinaryReportWriter.FINDING,
+                input.readByte());
+        assertEquals("expecting the length of the second finding", 4 + 4 + 3 * 2 + 4, input.readInt());
+        assertEquals("expecting its line number", 8, input.readInt());
+        assertEquals("expecting the length of its word", 3, input.readInt());
+        assertEquals("expecting its word", 'd', input.readChar());
+        input.skipBytes(4);
+        assertEquals("expecting no suggestions", 0, input.readInt());
+        assertEquals("expecting nothing after the last record", -1, input.read());
+    }
+}
@@ -0,0 +1,47 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.metrics;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.NaiveSpellChecker;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsRecorderTest {
+
+    @Test
+    public void testHistogramReportsBucketUpperBounds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int sample = 0; sample < 99; sample++) {
+            histogram.record(100);
+        }
+        histogram.record(5000);
+
+        assertEquals("expecting bucket bound of the median and exact maximum",
+                new LatencySummary(100, 127, 127, 5000), histogram.summarize());
+    }
+
+    @Test
+    public void testRecorderSeesTheWholePipeline() {
+        MetricsRecorder recorder = new MetricsRecorder();
+        NaiveSpellChecker spellChecker = new NaiveSpellChecker(NaiveSpellChecker.compileSnapshot(
+                new StringReader(String.join(System.lineSeparator(), "hello", "cat", "dog")),
+                new StringReader(String.join(System.lineSeparator(), "i", "am", "a"))),
+                ForkJoinPool.commonPool(), 0, recorder);
+
+        StringWriter output = new StringWriter();
+        spellChecker.analyze(new StringReader("helo i am a cat\ndgo"), output, 2);
+        PipelineMetrics metrics = recorder.snapshot();
+
+        assertEquals("expecting every line", 2, metrics.lines());
+        assertEquals("expecting every classified word", 6, metrics.words());
+        assertEquals("expecting both misspellings", 2, metrics.mistakes());
+        assertEquals("expecting one query per misspelling", 2, metrics.suggestionQueries());
+        assertEquals("expecting one latency sample per query", 2, metrics.suggestionLatency().count());
+        assertTrue("expecting scored candidates", metrics.candidatesPerQuery() > 0);
+        assertEquals("expecting every written character", output.toString().length(), metrics.charactersWritten());
+    }
+}
@@ -0,0 +1,58 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.output;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+
+public class FlushingWriterTest {
+    @Test
+    public void testAtEndFlushesOnlyWhenClosed() throws IOException {
+        CountingWriter output = new CountingWriter();
+
+        try (var writer = new FlushingWriter(output, FlushPolicy.atEnd(), 4)) {
+            writer.write("hello ");
+            writer.write('w');
+            writer.write("orld".toCharArray(), 0, 4);
+
+            assertEquals("expecting no flush before the end", 0, output.flushes);
+        }
+
+        assertEquals("expecting the written characters unchanged", "hello world", output.toString());
+        assertEquals("expecting a single flush", 1, output.flushes);
+    }
+
+    @Test
+    public void testEveryCharactersFlushesAtTheThreshold() throws IOException {
+        CountingWriter output = new CountingWriter();
+        var writer = new FlushingWriter(output, FlushPolicy.everyCharacters(5));
+
+        writer.write("abc");
+        assertEquals("expecting the characters still buffered", "", output.toString());
+
+        writer.write("de");
+        assertEquals("expecting a flush at five characters", 1, output.flushes);
+        assertEquals("expecting the buffered characters handed over", "abcde", output.toString());
+
+        writer.write("fgh");
+        writer.flush();
+        assertEquals("expecting all characters after an explicit flush", "abcdefgh", output.toString());
+        assertEquals("expecting the explicit flush counted", 2, output.flushes);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPolicyLimitsMustBePositive() {
+        FlushPolicy.everyCharacters(0);
+    }
+
+    private static class CountingWriter extends StringWriter {
+        private int flushes;
+
+        @Override
+        public void flush() {
+            this.flushes++;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.server;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.Metadata;
+import bg.sofia.uni.fmi.mjt.spellchecker.SpellChecker;
+import org.junit.Test;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class ClosestWordsBatcherTest {
+
+    /**
+     * Answers every query with the word itself, once {@code release} is counted down.
+     */
+    private static final class BlockingChecker implements SpellChecker {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public void analyze(Reader textReader, Writer output, int suggestionsCount) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Metadata metadata(Reader textReader) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<String> findClosestWords(String word, int n) {
+            this.calls.incrementAndGet();
+            this.started.countDown();
+            try {
+                this.release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return List.of(word + n);
+        }
+    }
+
+    @Test
+    public void testQueriesWaitingTogetherAreAnsweredInOneBatch() throws InterruptedException {
+        BlockingChecker checker = new BlockingChecker();
+
+        try (ClosestWordsBatcher batcher = new ClosestWordsBatcher(checker, 8, 8)) {
+            CompletableFuture<List<String>> first = batcher.submit("cat", 1);
+            checker.started.await();
+
+            CompletableFuture<List<String>> dog = batcher.submit("dog", 2);
+            CompletableFuture<List<String>> sameDog = batcher.submit("dog", 2);
+            CompletableFuture<List<String>> otherCount = batcher.submit("dog", 3);
+            checker.release.countDown();
+
+            assertEquals("expecting the first answer", List.of("cat1"), first.join());
+            assertEquals("expecting the second answer", List.of("dog2"), dog.join());
+            assertEquals("expecting the same answer for the same query", List.of("dog2"), sameDog.join());
+            assertEquals("expecting a query for another count on its own", List.of("dog3"), otherCount.join());
+            assertEquals("expecting the waiting queries to make up one batch", 2, batcher.getBatchCount());
+            assertEquals("expecting the same query computed once", 3, checker.calls.get());
+            assertEquals("expecting the distinct queries counted", 3, batcher.getComputedQueryCount());
+        }
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void testQueriesBeyondTheQueueAreRejected() throws InterruptedException {
+        BlockingChecker checker = new BlockingChecker();
+
+        try (ClosestWordsBatcher batcher = new ClosestWordsBatcher(checker, 2, 8)) {
+            batcher.submit("cat", 1);
+            checker.started.await();
+
+            batcher.submit("dog", 1);
+            batcher.submit("dog", 1);
+            batcher.submit("dog", 1);
+        } finally {
+            checker.release.countDown();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.server;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.NaiveSpellChecker;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow.Subscription;
+
+import static org.junit.Assert.assertEquals;
+
+public class SpellCheckServerTest {
+    private static final NaiveSpellChecker SPELL_CHECKER = new NaiveSpellChecker(
+            new StringReader(String.join(System.lineSeparator(), "hello", "cat", "dog")),
+            new StringReader(String.join(System.lineSeparator(), "i", "am", "a")));
+    private static final String TEXT = "i am a dgo" + System.lineSeparator() + "helllo cat";
+    private static final HttpClient CLIENT = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private static SpellCheckServer server;
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        server = new SpellCheckServer(SPELL_CHECKER, 0, new ServerLimits(2, 64, 8));
+        server.start();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void testAnalyzeAnswersWithTheReportOfALocalAnalysis() throws IOException, InterruptedException {
+        StringWriter expected = new StringWriter();
+        SPELL_CHECKER.analyze(new StringReader(TEXT), expected, 2);
+
+        HttpResponse<String> response = send(post("/analyze?suggestions=2", TEXT));
+
+        assertEquals("expecting success", 200, response.statusCode());
+        assertEquals("expecting the text report", expected.toString(), response.body());
+    }
+
+    @Test
+    public void testAnalyzeAnswersInTheRequestedFormat() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/analyze?suggestions=1&format=jsonl", "i am a dgo"));
+
+        assertEquals("expecting the metadata and the finding as JSON Lines",
+                "{\"type\":\"metadata\",\"characters\":7,\"words\":1,\"mistakes\":1}\n"
+                        + "{\"type\":\"finding\",\"line\":1,\"word\":\"dgo\",\"suggestions\":[\""
+                        + SPELL_CHECKER.findClosestWords("dgo", 1).get(0) + "\"]}\n",
+                response.body());
+    }
+
+    @Test
+    public void testMetadataAnswersWithAJsonLine() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/metadata", TEXT));
+
+        assertEquals("expecting the metadata of the body",
+                "{\"type\":\"metadata\",\"characters\":16,\"words\":3,\"mistakes\":2}\n", response.body());
+    }
+
+    @Test
+    public void testConcurrentClosestWordsQueriesGetTheirOwnAnswers() {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int query = 0; query < 40; query++) {
+            String word = query % 2 == 0 ? "helllo" : "dgo";
+            responses.add(CLIENT.sendAsync(get("/closest?word=" + word + "&n=1"),
+                    BodyHandlers.ofString()));
+        }
+
+        for (int query = 0; query < responses.size(); query++) {
+            String word = query % 2 == 0 ? "helllo" : "dgo";
+            HttpResponse<String> response = responses.get(query).join();
+
+            assertEquals("expecting every query within the limits admitted", 200, response.statusCode());
+            assertEquals("expecting the closest word of the query",
+                    SPELL_CHECKER.findClosestWords(word, 1).get(0) + "\n", response.body());
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void testRequestsBeyondTheQueueAreTurnedAway() throws IOException, InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (SpellCheckServer busyServer = new SpellCheckServer(SPELL_CHECKER, 0, new ServerLimits(1, 1, 1))) {
+            busyServer.start();
+            URI uri = URI.create("http://127.0.0.1:" + busyServer.getPort() + "/metadata");
+            HttpRequest heldBack = HttpRequest.newBuilder(uri).POST(heldBackBody("helllo", release)).build();
+
+            // one request keeps the only worker reading its body and another one waits for it
+            CompletableFuture<HttpResponse<String>> running = CLIENT.sendAsync(heldBack, BodyHandlers.ofString());
+            CompletableFuture<HttpResponse<String>> queued = CLIENT.sendAsync(heldBack, BodyHandlers.ofString());
+            while (busyServer.getPendingRequests() < 2) {
+                Thread.sleep(10);
+            }
+
+            HttpResponse<String> turnedAway = CLIENT.send(HttpRequest.newBuilder(uri)
+                    .POST(HttpRequest.BodyPublishers.ofString("cat")).build(), BodyHandlers.ofString());
+            release.countDown();
+
+            assertEquals("expecting the request beyond the queue to be turned away", 503, turnedAway.statusCode());
+            assertEquals("expecting the running request to succeed", 200, running.join().statusCode());
+            assertEquals("expecting the queued request to succeed", 200, queued.join().statusCode());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testAnalysisFailingAfterTheHeadersDropsTheConnection() throws IOException, InterruptedException {
+        NaiveSpellChecker failingChecker = new NaiveSpellChecker(NaiveSpellChecker.compileSnapshot(
+                new StringReader("hello"), new StringReader("a")), snapshot -> (word, suggestionsCount) -> {
+                    throw new IllegalStateException("no suggestions for " + word);
+                });
+
+        try (SpellCheckServer failingServer = new SpellCheckServer(failingChecker, 0, new ServerLimits(1, 1, 1))) {
+            failingServer.start();
+            URI uri = URI.create("http://127.0.0.1:" + failingServer.getPort() + "/analyze");
+
+            // a complete 200 would pass the truncated report for the whole one
+            CLIENT.send(HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofString("helllo")).build(),
+                    BodyHandlers.ofString());
+        }
+    }
+
+    @Test
+    public void testMalformedRequestsAreRejected() throws IOException, InterruptedException {
+        assertEquals("expecting a missing word to be a bad request", 400, send(get("/closest?n=1")).statusCode());
+        assertEquals("expecting a bad count to be a bad request", 400,
+                send(post("/analyze?suggestions=many", TEXT)).statusCode());
+        assertEquals("expecting an unknown format to be a bad request", 400,
+                send(post("/analyze?format=xml", TEXT)).statusCode());
+        assertEquals("expecting the wrong method to be refused", 405, send(get("/metadata")).statusCode());
+        assertEquals("expecting an unknown path not to be found", 404, send(get("/spell")).statusCode());
+    }
+
+    private static HttpRequest.BodyPublisher heldBackBody(String body, CountDownLatch release) {
+        return HttpRequest.BodyPublishers.fromPublisher(subscriber -> subscriber.onSubscribe(new Subscription() {
+            private boolean requested;
+
+            @Override
+            public void request(long n) {
+                if (!this.requested) {
+                    this.requested = true;
+                    CompletableFuture.runAsync(() -> {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        subscriber.onNext(ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8)));
+                        subscriber.onComplete();
+                    });
+                }
+            }
+
+            @Override
+            public void cancel() {
+            }
+        }));
+    }
+
+    private static HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return CLIENT.send(request, BodyHandlers.ofString());
+    }
+
+    private static HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private static HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private static URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+}
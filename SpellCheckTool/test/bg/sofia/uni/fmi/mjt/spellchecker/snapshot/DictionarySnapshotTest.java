@@ -0,0 +1,79 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.snapshot;
+
+import bg.sofia.uni.fmi.mjt.spellchecker.NaiveSpellChecker;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DictionarySnapshotTest {
+    private static final DictionarySnapshot SNAPSHOT = NaiveSpellChecker.compileSnapshot(
+            new StringReader(String.join(System.lineSeparator(), "hello", "cat", "dog", "capybara")),
+            new StringReader(String.join(System.lineSeparator(), "i", "am", "a")));
+
+    private Path directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        this.directory = Files.createTempDirectory("snapshots");
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testWriteReplacesTheTargetAndLeavesNothingElseBehind() throws IOException {
+        Path target = this.directory.resolve("dictionary.snapshot");
+        Files.writeString(target, "an older snapshot");
+
+        SNAPSHOT.write(target);
+
+        try (Stream<Path> files = Files.list(this.directory)) {
+            assertEquals("expecting only the target in the directory", List.of(target), files.toList());
+        }
+        assertTrue("expecting the written snapshot to be loaded back",
+                DictionarySnapshot.load(target).bigramIndex().contains("capybara"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadRejectsATruncatedSnapshot() throws IOException {
+        Path target = this.directory.resolve("dictionary.snapshot");
+        SNAPSHOT.write(target);
+
+        byte[] bytes = Files.readAllBytes(target);
+        Files.write(target, Arrays.copyOf(bytes, bytes.length - Integer.BYTES));
+
+        DictionarySnapshot.load(target);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadRejectsASectionLongerThanTheFile() throws IOException {
+        Path target = this.directory.resolve("dictionary.snapshot");
+        SNAPSHOT.write(target);
+
+        // the length of the first section, the bit table of the symbols, right after the magic number and version
+        byte[] bytes = Files.readAllBytes(target);
+        ByteBuffer.wrap(bytes).putInt(2 * Integer.BYTES, Integer.MAX_VALUE);
+        Files.write(target, bytes);
+
+        DictionarySnapshot.load(target, true);
+    }
+}
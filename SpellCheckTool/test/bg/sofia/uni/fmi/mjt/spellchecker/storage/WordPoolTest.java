@@ -0,0 +1,39 @@
+package bg.sofia.uni.fmi.mjt.spellchecker.storage;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class WordPoolTest {
+    @Test
+    public void testWordsComeBackInOrderWithMissingOnesEmpty() {
+        WordPool pool = WordPool.of(new String[] {"hello", null, "cat"}, true);
+
+        assertTrue("expecting the pool in direct memory", pool.isDirect());
+        assertEquals("expecting every word counted", 3, pool.size());
+        assertEquals("expecting the first word", "hello", pool.get(0));
+        assertEquals("expecting a missing word to be empty", "", pool.get(1));
+        assertEquals("expecting the words back to back", 5, pool.getStart(2));
+    }
+
+    @Test
+    public void testWordsAreComparedExactly() {
+        WordPool pool = WordPool.of(new String[] {"hello", "cat"}, false);
+
+        assertTrue("expecting the same spelling to match", pool.matches(0, "hello"));
+        assertFalse("expecting another case not to match", pool.matches(0, "Hello"));
+        assertFalse("expecting a prefix not to match", pool.matches(1, "ca"));
+    }
+
+    @Test
+    public void testCopiesHoldTheSameWordsInTheOtherKindOfMemory() {
+        WordPool pool = WordPool.of(new String[] {"hello", "dog", "cat"}, true);
+
+        assertSame("expecting the same pool for the same kind of memory", pool, pool.copy(true));
+        assertFalse("expecting a heap copy", pool.copy(false).isDirect());
+        assertEquals("expecting the copy to hold the same words", "dog", pool.copy(false).get(1));
+    }
+}